@@ -0,0 +1,117 @@
+package com.milko.benchmark;
+
+import com.milko.dto.ImportReportDto;
+import com.milko.dto.StudentDto;
+import com.milko.service.BulkImportService;
+import com.milko.service.StudentService;
+import io.micronaut.context.ApplicationContext;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports {@code rows} students per invocation against the database configured for the application
+ * (R2DBC_URL / FLYWAY_URL). {@code copy} streams CSV through the COPY import, {@code save} creates the
+ * same students one request at a time through {@link StudentService#create}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"copy", "save"})
+    private String strategy;
+
+    private ApplicationContext context;
+    private BulkImportService bulkImportService;
+    private StudentService studentService;
+    private ConnectionFactory connectionFactory;
+    private List<byte[]> csvChunks;
+    private List<StudentDto> students;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = ApplicationContext.run();
+        bulkImportService = context.getBean(BulkImportService.class);
+        studentService = context.getBean(StudentService.class);
+        connectionFactory = context.getBean(ConnectionFactory.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareData() {
+        truncateStudents();
+        run++;
+        students = new ArrayList<>(rows);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream(rows * 40);
+        csv.writeBytes("name,email\n".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < rows; i++) {
+            String name = "student-" + run + "-" + i;
+            String email = name + "@example.com";
+            students.add(StudentDto.builder().name(name).email(email).build());
+            csv.writeBytes((name + "," + email + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] bytes = csv.toByteArray();
+        csvChunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+            csvChunks.add(Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + CHUNK_SIZE)));
+        }
+    }
+
+    @Benchmark
+    public long importStudents() {
+        if ("copy".equals(strategy)) {
+            ImportReportDto report = bulkImportService.importStudents(Flux.fromIterable(csvChunks)).block();
+            return report == null ? 0 : report.getInserted();
+        }
+        Long count = Flux.fromIterable(students)
+                .concatMap(studentService::create)
+                .count()
+                .block();
+        return count == null ? 0 : count;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        truncateStudents();
+        context.close();
+    }
+
+    private void truncateStudents() {
+        Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement("TRUNCATE TABLE students RESTART IDENTITY CASCADE")
+                                .execute())
+                        .then(),
+                Connection::close
+        ).block();
+    }
+}
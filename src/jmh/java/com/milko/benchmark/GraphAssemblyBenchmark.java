@@ -0,0 +1,67 @@
+package com.milko.benchmark;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.StudentDto;
+import com.milko.mapper.CourseMapper;
+import com.milko.mapper.CourseMapperImpl;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.StudentMapper;
+import com.milko.mapper.StudentMapperImpl;
+import com.milko.mapper.TeacherMapper;
+import com.milko.mapper.TeacherMapperImpl;
+import com.milko.model.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The list-response assembly the course and student {@code findAll}/{@code findPage} run on the event loop:
+ * grouping batch-loaded view rows by parent id and mapping every row to a DTO. {@code rows} is the number of
+ * enrollment rows in the batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GraphAssemblyBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final CourseMapper courseMapper = new CourseMapperImpl();
+    private final StudentMapper studentMapper = new StudentMapperImpl();
+    private final TeacherMapper teacherMapper = new TeacherMapperImpl();
+
+    private GraphFixtures fixtures;
+
+    @Setup
+    public void setUp() {
+        fixtures = new GraphFixtures(rows);
+    }
+
+    @Benchmark
+    public List<CourseDto> assembleCourses() {
+        return GraphAssembly.courses(fixtures.courses, fixtures.teachers, fixtures.courseStudentViews,
+                courseMapper, studentMapper, teacherMapper);
+    }
+
+    @Benchmark
+    public List<StudentDto> assembleStudents() {
+        Map<Long, List<Course>> coursesByStudentId = GraphAssembly.coursesByStudentId(fixtures.studentCourseViews, courseMapper);
+        return GraphAssembly.students(fixtures.students, coursesByStudentId, fixtures.teachers,
+                studentMapper, courseMapper, teacherMapper);
+    }
+}
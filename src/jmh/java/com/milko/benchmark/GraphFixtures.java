@@ -0,0 +1,76 @@
+package com.milko.benchmark;
+
+import com.milko.dto.records.CourseStudentsView;
+import com.milko.dto.records.StudentCoursesView;
+import com.milko.model.Course;
+import com.milko.model.Department;
+import com.milko.model.Student;
+import com.milko.model.Teacher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory university for the CPU-only benchmarks. {@code rows} is the number of enrollment rows;
+ * there is one course per 20 rows, one student per 4 rows and one teacher per 5 courses.
+ */
+final class GraphFixtures {
+    private static final long SEED = 42L;
+
+    final List<Teacher> teachers;
+    final List<Department> departments;
+    final List<Course> courses;
+    final List<Student> students;
+    final List<CourseStudentsView> courseStudentViews;
+    final List<StudentCoursesView> studentCourseViews;
+
+    GraphFixtures(int rows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int courseCount = Math.max(1, rows / 20);
+        int studentCount = Math.max(1, rows / 4);
+        int teacherCount = Math.max(1, courseCount / 5);
+
+        teachers = new ArrayList<>(teacherCount);
+        departments = new ArrayList<>(teacherCount);
+        for (long id = 1; id <= teacherCount; id++) {
+            Teacher teacher = new Teacher();
+            teacher.setId(id);
+            teacher.setName("Teacher " + id);
+            teachers.add(teacher);
+
+            Department department = new Department();
+            department.setId(id);
+            department.setName("Department " + id);
+            department.setHeadOfDepartmentId(id);
+            departments.add(department);
+        }
+
+        courses = new ArrayList<>(courseCount);
+        for (long id = 1; id <= courseCount; id++) {
+            Course course = new Course();
+            course.setId(id);
+            course.setTitle("Course " + id);
+            course.setTeacherId(1 + random.nextLong(teacherCount));
+            courses.add(course);
+        }
+
+        students = new ArrayList<>(studentCount);
+        for (long id = 1; id <= studentCount; id++) {
+            Student student = new Student();
+            student.setId(id);
+            student.setName("Student " + id);
+            student.setEmail("student" + id + "@example.com");
+            students.add(student);
+        }
+
+        courseStudentViews = new ArrayList<>(rows);
+        studentCourseViews = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Course course = courses.get(random.nextInt(courseCount));
+            Student student = students.get(random.nextInt(studentCount));
+            courseStudentViews.add(new CourseStudentsView(course.getId(), student.getId(), student.getName(), student.getEmail()));
+            studentCourseViews.add(new StudentCoursesView(student.getId(), course.getId(), course.getTitle(), course.getTeacherId()));
+        }
+    }
+}
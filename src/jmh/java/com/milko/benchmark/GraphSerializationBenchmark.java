@@ -0,0 +1,84 @@
+package com.milko.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.milko.dto.CourseDto;
+import com.milko.dto.StudentDto;
+import com.milko.mapper.CourseMapper;
+import com.milko.mapper.CourseMapperImpl;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.StudentMapper;
+import com.milko.mapper.StudentMapperImpl;
+import com.milko.mapper.TeacherMapper;
+import com.milko.mapper.TeacherMapperImpl;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of assembled {@code CourseDto} and {@code StudentDto} graphs, written to a discarding
+ * stream so the numbers cover the serializer rather than buffer growth. {@code rows} is the number of
+ * enrollment rows behind the graph. The {@code ObjectMapper} comes from the application context, so it carries
+ * the same modules and {@code jackson.*} settings as the HTTP responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GraphSerializationBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ApplicationContext context;
+    private ObjectWriter writer;
+    private List<CourseDto> courses;
+    private List<StudentDto> students;
+
+    @Setup
+    public void setUp() {
+        context = ApplicationContext.run();
+        writer = context.getBean(ObjectMapper.class).writer();
+
+        GraphFixtures fixtures = new GraphFixtures(rows);
+        CourseMapper courseMapper = new CourseMapperImpl();
+        StudentMapper studentMapper = new StudentMapperImpl();
+        TeacherMapper teacherMapper = new TeacherMapperImpl();
+        courses = GraphAssembly.courses(fixtures.courses, fixtures.teachers, fixtures.courseStudentViews,
+                courseMapper, studentMapper, teacherMapper);
+        students = GraphAssembly.students(fixtures.students,
+                GraphAssembly.coursesByStudentId(fixtures.studentCourseViews, courseMapper), fixtures.teachers,
+                studentMapper, courseMapper, teacherMapper);
+    }
+
+    @TearDown
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public void serializeCourses() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), courses);
+    }
+
+    @Benchmark
+    public void serializeStudents() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), students);
+    }
+}
@@ -0,0 +1,176 @@
+package com.milko.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Point lookup throughput with {@value #IN_FLIGHT} concurrent requests per invocation: the R2DBC pool versus
+ * blocking JDBC/Hikari on a virtual thread per request, as the {@code jdbc} environment runs the services.
+ * Both pools hold {@code connections} connections. Connects to R2DBC_URL and JDBC_URL with R2DBC_USER / R2DBC_PASS,
+ * which must point at the same migrated database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class JdbcVirtualThreadBenchmark {
+    private static final int IN_FLIGHT = 256;
+
+    private static final String FIND_BY_ID = "SELECT id, title, teacher_id FROM courses WHERE id = $1";
+
+    private static final String FIND_GRAPH = """
+            SELECT CAST(json_build_object(
+                       'id', c.id,
+                       'title', c.title,
+                       'teacher', (SELECT json_build_object('id', t.id, 'name', t.name)
+                                   FROM teachers t WHERE t.id = c.teacher_id),
+                       'students', COALESCE((SELECT json_agg(json_build_object('id', s.id, 'name', s.name, 'email', s.email) ORDER BY s.id)
+                                             FROM students s JOIN course_student cs ON s.id = cs.student_id
+                                             WHERE cs.course_id = c.id), CAST('[]' AS json))
+                   ) AS text)
+            FROM courses c
+            WHERE c.id = $1
+            """;
+
+    @Param({"r2dbc", "jdbc"})
+    private String execution;
+
+    @Param({"16", "50"})
+    private int connections;
+
+    private ConnectionPool pool;
+    private HikariDataSource dataSource;
+    private Scheduler virtualThreads;
+    private LongFunction<Mono<String>> findById;
+    private LongFunction<Mono<String>> findGraph;
+    private long courseId;
+
+    @Setup
+    public void connect() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(
+                        env("R2DBC_URL", "r2dbc:postgresql://localhost:5432/student"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, env("R2DBC_USER", "student"))
+                .option(ConnectionFactoryOptions.PASSWORD, env("R2DBC_PASS", "student"))
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(connections)
+                .maxSize(connections)
+                .build());
+        courseId = Mono.usingWhen(pool.create(),
+                        connection -> Mono.from(connection.createStatement("""
+                                        INSERT INTO courses (title) VALUES ('jdbc-virtual-thread-benchmark')
+                                        ON CONFLICT (title) DO UPDATE SET title = EXCLUDED.title
+                                        RETURNING id
+                                        """).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("id", Long.class)))),
+                        connection -> connection.close())
+                .block();
+
+        if ("jdbc".equals(execution)) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(env("JDBC_URL", "jdbc:postgresql://localhost:5432/student"));
+            config.setUsername(env("R2DBC_USER", "student"));
+            config.setPassword(env("R2DBC_PASS", "student"));
+            config.setMaximumPoolSize(connections);
+            config.setMinimumIdle(connections);
+            dataSource = new HikariDataSource(config);
+            virtualThreads = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "jdbc-virtual");
+            findById = id -> jdbc(FIND_BY_ID.replace("$1", "?"), id);
+            findGraph = id -> jdbc(FIND_GRAPH.replace("$1", "?"), id);
+        } else {
+            findById = id -> r2dbc(FIND_BY_ID, id);
+            findGraph = id -> r2dbc(FIND_GRAPH, id);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long findById() {
+        return run(findById);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long findGraphJsonById() {
+        return run(findGraph);
+    }
+
+    @TearDown
+    public void close() {
+        if (dataSource != null) {
+            virtualThreads.dispose();
+            dataSource.close();
+        }
+        Mono.usingWhen(pool.create(),
+                        connection -> Flux.from(connection.createStatement(
+                                        "DELETE FROM courses WHERE title = 'jdbc-virtual-thread-benchmark'").execute())
+                                .flatMap(result -> result.getRowsUpdated())
+                                .then(),
+                        connection -> connection.close())
+                .then(pool.disposeLater())
+                .block();
+    }
+
+    private long run(LongFunction<Mono<String>> query) {
+        Long count = Flux.range(0, IN_FLIGHT)
+                .flatMap(i -> query.apply(courseId), IN_FLIGHT)
+                .count()
+                .block();
+        return count == null ? 0 : count;
+    }
+
+    private Mono<String> r2dbc(String sql, long id) {
+        return Mono.usingWhen(pool.create(),
+                connection -> Mono.from(connection.createStatement(sql).bind("$1", id).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> String.valueOf(row.get(0))))),
+                connection -> connection.close());
+    }
+
+    private Mono<String> jdbc(String sql, long id) {
+        return Mono.fromCallable(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getString(1) : null;
+                }
+            }
+        }).subscribeOn(virtualThreads);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,99 @@
+package com.milko.benchmark;
+
+import com.milko.dto.records.CourseStudentsView;
+import com.milko.dto.records.StudentCoursesView;
+import com.milko.mapper.CourseMapper;
+import com.milko.mapper.CourseMapperImpl;
+import com.milko.mapper.DepartmentMapper;
+import com.milko.mapper.DepartmentMapperImpl;
+import com.milko.mapper.StudentMapper;
+import com.milko.mapper.StudentMapperImpl;
+import com.milko.mapper.TeacherMapper;
+import com.milko.mapper.TeacherMapperImpl;
+import com.milko.model.Course;
+import com.milko.model.Department;
+import com.milko.model.Student;
+import com.milko.model.Teacher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the generated MapStruct mappers per list of {@code rows} entities or view rows. Run with
+ * {@code -prof gc} (the profile default) to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MapperBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final CourseMapper courseMapper = new CourseMapperImpl();
+    private final StudentMapper studentMapper = new StudentMapperImpl();
+    private final TeacherMapper teacherMapper = new TeacherMapperImpl();
+    private final DepartmentMapper departmentMapper = new DepartmentMapperImpl();
+
+    private GraphFixtures fixtures;
+
+    @Setup
+    public void setUp() {
+        fixtures = new GraphFixtures(rows);
+    }
+
+    @Benchmark
+    public void courseToDto(Blackhole blackhole) {
+        for (Course course : fixtures.courses) {
+            blackhole.consume(courseMapper.toCourseDto(course));
+        }
+    }
+
+    @Benchmark
+    public void studentToDto(Blackhole blackhole) {
+        for (Student student : fixtures.students) {
+            blackhole.consume(studentMapper.toStudentDto(student));
+        }
+    }
+
+    @Benchmark
+    public void teacherToDto(Blackhole blackhole) {
+        for (Teacher teacher : fixtures.teachers) {
+            blackhole.consume(teacherMapper.toTeacherDto(teacher));
+        }
+    }
+
+    @Benchmark
+    public void departmentToDto(Blackhole blackhole) {
+        for (Department department : fixtures.departments) {
+            blackhole.consume(departmentMapper.toDepartmentDto(department));
+        }
+    }
+
+    @Benchmark
+    public void courseStudentViewToStudent(Blackhole blackhole) {
+        for (CourseStudentsView view : fixtures.courseStudentViews) {
+            blackhole.consume(studentMapper.toStudent(view));
+        }
+    }
+
+    @Benchmark
+    public void studentCourseViewToCourse(Blackhole blackhole) {
+        for (StudentCoursesView view : fixtures.studentCourseViews) {
+            blackhole.consume(courseMapper.toCourse(view));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.milko.benchmark;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-query latency of the repository query shapes on a single connection, with the r2dbc-postgresql
+ * prepared statement cache disabled ({@code 0}) or sized as in application.yml. Connects to
+ * R2DBC_URL / R2DBC_USER / R2DBC_PASS, which must point at a migrated database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PreparedStatementCacheBenchmark {
+    private static final String FIND_BY_ID = "SELECT * FROM courses c WHERE c.id = $1";
+
+    private static final String FIND_BY_ID_ARRAY = """
+            SELECT c.id AS course_id, s.id AS student_id, s.name AS student_name, s.email AS student_email
+            FROM students s
+            INNER JOIN course_student cs ON s.id = cs.student_id
+            INNER JOIN courses c ON cs.course_id = c.id
+            WHERE c.id = ANY($1)
+            """;
+
+    private static final String FIND_GRAPH = """
+            SELECT CAST(json_build_object(
+                       'id', c.id,
+                       'title', c.title,
+                       'teacher', (SELECT json_build_object('id', t.id, 'name', t.name)
+                                   FROM teachers t WHERE t.id = c.teacher_id),
+                       'students', COALESCE((SELECT json_agg(json_build_object('id', s.id, 'name', s.name, 'email', s.email) ORDER BY s.id)
+                                             FROM students s JOIN course_student cs ON s.id = cs.student_id
+                                             WHERE cs.course_id = c.id), CAST('[]' AS json))
+                   ) AS text)
+            FROM courses c
+            WHERE c.id = $1
+            """;
+
+    @Param({"0", "256"})
+    private int preparedStatementCacheQueries;
+
+    @Param({"true", "false"})
+    private boolean forceBinary;
+
+    private Connection connection;
+    private long courseId;
+
+    @Setup
+    public void connect() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(
+                        env("R2DBC_URL", "r2dbc:postgresql://localhost:5432/student"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, env("R2DBC_USER", "student"))
+                .option(ConnectionFactoryOptions.PASSWORD, env("R2DBC_PASS", "student"))
+                .option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES, preparedStatementCacheQueries)
+                .option(PostgresqlConnectionFactoryProvider.FORCE_BINARY, forceBinary)
+                .build();
+        connection = Mono.from(ConnectionFactories.get(options).create()).block();
+        courseId = Mono.from(connection.createStatement("""
+                        INSERT INTO courses (title) VALUES ('statement-cache-benchmark')
+                        ON CONFLICT (title) DO UPDATE SET title = EXCLUDED.title
+                        RETURNING id
+                        """).execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("id", Long.class))))
+                .block();
+    }
+
+    @Benchmark
+    public long findById() {
+        return rows(FIND_BY_ID, courseId);
+    }
+
+    @Benchmark
+    public long findAllByIdArray() {
+        return rows(FIND_BY_ID_ARRAY, new Long[]{courseId, courseId + 1, courseId + 2});
+    }
+
+    @Benchmark
+    public long findGraphJsonById() {
+        return rows(FIND_GRAPH, courseId);
+    }
+
+    @TearDown
+    public void close() {
+        Flux.from(connection.createStatement("DELETE FROM courses WHERE title = 'statement-cache-benchmark'").execute())
+                .flatMap(Result::getRowsUpdated)
+                .then(Mono.from(connection.close()))
+                .block();
+    }
+
+    private long rows(String sql, Object parameter) {
+        Long count = Flux.from(connection.createStatement(sql).bind("$1", parameter).execute())
+                .flatMap(result -> result.map((row, metadata) -> 1))
+                .count()
+                .block();
+        return count == null ? 0 : count;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
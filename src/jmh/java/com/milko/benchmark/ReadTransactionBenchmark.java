@@ -0,0 +1,123 @@
+package com.milko.benchmark;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.api.PostgresTransactionDefinition;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.IsolationLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a service read issuing {@code statements} point queries, with {@value #IN_FLIGHT} reads in flight,
+ * under three transaction modes: none, as the unannotated service reads run, the default read-write transaction
+ * the reads used to open, and a read-only repeatable-read snapshot ({@code @SnapshotRead}). Each transaction adds
+ * a BEGIN and a COMMIT round trip. Connects to R2DBC_URL / R2DBC_USER / R2DBC_PASS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ReadTransactionBenchmark {
+    private static final int IN_FLIGHT = 64;
+    private static final String FIND_COURSE = "SELECT id, title, teacher_id FROM courses WHERE id = $1";
+    private static final PostgresTransactionDefinition SNAPSHOT =
+            PostgresTransactionDefinition.from(IsolationLevel.REPEATABLE_READ).readOnly();
+
+    @Param({"none", "read-write", "read-only"})
+    private String transaction;
+
+    @Param({"1", "3"})
+    private int statements;
+
+    private ConnectionPool pool;
+    private long courseId;
+
+    @Setup
+    public void connect() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(
+                        env("R2DBC_URL", "r2dbc:postgresql://localhost:5432/student"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, env("R2DBC_USER", "student"))
+                .option(ConnectionFactoryOptions.PASSWORD, env("R2DBC_PASS", "student"))
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(16)
+                .maxSize(16)
+                .build());
+        courseId = Mono.usingWhen(pool.create(),
+                        connection -> Mono.from(connection.createStatement("""
+                                        INSERT INTO courses (title) VALUES ('read-transaction-benchmark')
+                                        ON CONFLICT (title) DO UPDATE SET title = EXCLUDED.title
+                                        RETURNING id
+                                        """).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("id", Long.class)))),
+                        Connection::close)
+                .block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long read() {
+        Long count = Flux.range(0, IN_FLIGHT)
+                .flatMap(i -> Mono.usingWhen(pool.create(), this::inTransaction, Connection::close), IN_FLIGHT)
+                .count()
+                .block();
+        return count == null ? 0 : count;
+    }
+
+    private Mono<Long> inTransaction(Connection connection) {
+        return switch (transaction) {
+            case "read-write" -> Mono.from(connection.beginTransaction())
+                    .then(queries(connection))
+                    .flatMap(rows -> Mono.from(connection.commitTransaction()).thenReturn(rows));
+            case "read-only" -> Mono.from(connection.beginTransaction(SNAPSHOT))
+                    .then(queries(connection))
+                    .flatMap(rows -> Mono.from(connection.commitTransaction()).thenReturn(rows));
+            default -> queries(connection);
+        };
+    }
+
+    private Mono<Long> queries(Connection connection) {
+        return Flux.range(0, statements)
+                .concatMap(i -> Flux.from(connection.createStatement(FIND_COURSE).bind("$1", courseId).execute())
+                        .flatMap(result -> result.map((row, metadata) -> row.get("id", Long.class))))
+                .count();
+    }
+
+    @TearDown
+    public void close() {
+        Mono.usingWhen(pool.create(),
+                        connection -> Flux.from(connection.createStatement(
+                                        "DELETE FROM courses WHERE title = 'read-transaction-benchmark'").execute())
+                                .flatMap(result -> result.getRowsUpdated())
+                                .then(),
+                        Connection::close)
+                .then(pool.disposeLater())
+                .block();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,150 @@
+package com.milko.benchmark;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgBuilder;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Throughput of {@code findGraphJsonById} with {@value #IN_FLIGHT} concurrent requests per invocation, on the
+ * R2DBC pool versus the pipelined Vert.x client, both limited to {@code connections} connections. Connects to
+ * R2DBC_URL / R2DBC_USER / R2DBC_PASS and VERTX_PG_URI, which must point at the same migrated database;
+ * {@code pipeliningLimit} only applies to the Vert.x runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RepositoryBackendBenchmark {
+    private static final int IN_FLIGHT = 256;
+
+    private static final String FIND_GRAPH = """
+            SELECT CAST(json_build_object(
+                       'id', c.id,
+                       'title', c.title,
+                       'teacher', (SELECT json_build_object('id', t.id, 'name', t.name)
+                                   FROM teachers t WHERE t.id = c.teacher_id),
+                       'students', COALESCE((SELECT json_agg(json_build_object('id', s.id, 'name', s.name, 'email', s.email) ORDER BY s.id)
+                                             FROM students s JOIN course_student cs ON s.id = cs.student_id
+                                             WHERE cs.course_id = c.id), CAST('[]' AS json))
+                   ) AS text)
+            FROM courses c
+            WHERE c.id = $1
+            """;
+
+    @Param({"r2dbc", "vertx"})
+    private String backend;
+
+    @Param({"4", "16"})
+    private int connections;
+
+    @Param({"1", "256"})
+    private int pipeliningLimit;
+
+    private ConnectionPool pool;
+    private Vertx vertx;
+    private SqlClient client;
+    private LongFunction<Mono<String>> findGraph;
+    private long courseId;
+
+    @Setup
+    public void connect() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(
+                        env("R2DBC_URL", "r2dbc:postgresql://localhost:5432/student"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, env("R2DBC_USER", "student"))
+                .option(ConnectionFactoryOptions.PASSWORD, env("R2DBC_PASS", "student"))
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(connections)
+                .maxSize(connections)
+                .build());
+        courseId = Mono.usingWhen(pool.create(),
+                        connection -> Mono.from(connection.createStatement("""
+                                        INSERT INTO courses (title) VALUES ('repository-backend-benchmark')
+                                        ON CONFLICT (title) DO UPDATE SET title = EXCLUDED.title
+                                        RETURNING id
+                                        """).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("id", Long.class)))),
+                        connection -> connection.close())
+                .block();
+
+        if ("vertx".equals(backend)) {
+            vertx = Vertx.vertx();
+            client = PgBuilder.client()
+                    .with(new PoolOptions().setMaxSize(connections))
+                    .connectingTo(PgConnectOptions.fromUri(env("VERTX_PG_URI", "postgresql://localhost:5432/student"))
+                            .setUser(env("R2DBC_USER", "student"))
+                            .setPassword(env("R2DBC_PASS", "student"))
+                            .setPipeliningLimit(pipeliningLimit)
+                            .setCachePreparedStatements(true))
+                    .using(vertx)
+                    .build();
+            findGraph = id -> Mono.defer(() -> Mono.fromCompletionStage(
+                            client.preparedQuery(FIND_GRAPH).execute(Tuple.of(id)).toCompletionStage()))
+                    .map(rows -> rows.iterator().next().getString(0));
+        } else {
+            findGraph = id -> Mono.usingWhen(pool.create(),
+                    connection -> Mono.from(connection.createStatement(FIND_GRAPH).bind("$1", id).execute())
+                            .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, String.class)))),
+                    connection -> connection.close());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long findGraphJsonById() {
+        Long count = Flux.range(0, IN_FLIGHT)
+                .flatMap(i -> findGraph.apply(courseId), IN_FLIGHT)
+                .count()
+                .block();
+        return count == null ? 0 : count;
+    }
+
+    @TearDown
+    public void close() {
+        if (client != null) {
+            client.close().toCompletionStage().toCompletableFuture().join();
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+        Mono.usingWhen(pool.create(),
+                        connection -> Flux.from(connection.createStatement(
+                                        "DELETE FROM courses WHERE title = 'repository-backend-benchmark'").execute())
+                                .flatMap(result -> result.getRowsUpdated())
+                                .then(),
+                        connection -> connection.close())
+                .then(pool.disposeLater())
+                .block();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
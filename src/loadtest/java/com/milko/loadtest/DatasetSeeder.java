@@ -0,0 +1,105 @@
+package com.milko.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Replaces the contents of the database with a synthetic university. Identities are restarted, so entity ids
+ * are {@code 1..n} and the traffic generator can address them without reading them back. Course popularity
+ * follows a Zipf distribution; students pick courses independently.
+ */
+final class DatasetSeeder {
+    private static final int ENROLLMENT_CHUNK = 10_000;
+
+    private final LoadTestSettings settings;
+
+    DatasetSeeder(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    void seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(settings.jdbcUrl(), settings.user(), settings.password())) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE course_student, courses, departments, students, teachers RESTART IDENTITY CASCADE");
+            }
+            insertSeries(connection, "INSERT INTO teachers (name) SELECT 'Teacher ' || i FROM generate_series(1, ?) i",
+                    settings.teachers());
+            insertSeries(connection, """
+                    INSERT INTO departments (name, head_of_department_id)
+                    SELECT 'Department ' || i, i FROM generate_series(1, ?) i
+                    """, settings.departments());
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO courses (title, teacher_id)
+                    SELECT 'Course ' || i, 1 + (i - 1) % ? FROM generate_series(1, ?) i
+                    """)) {
+                statement.setInt(1, settings.teachers());
+                statement.setInt(2, settings.courses());
+                statement.executeUpdate();
+            }
+            insertSeries(connection, """
+                    INSERT INTO students (name, email)
+                    SELECT 'Student ' || i, 'student' || i || '@example.com' FROM generate_series(1, ?) i
+                    """, settings.students());
+            int enrolled = insertEnrollments(connection);
+            connection.commit();
+            System.out.printf("seeded %d teachers, %d departments, %d courses, %d students, %d enrollments%n",
+                    settings.teachers(), settings.departments(), settings.courses(), settings.students(), enrolled);
+        }
+    }
+
+    private int insertEnrollments(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        ZipfSampler coursePopularity = new ZipfSampler(settings.courses(), settings.zipfExponent());
+        long maxPairs = (long) settings.courses() * settings.students();
+        int target = (int) Math.min(settings.enrollments(), maxPairs);
+
+        Set<Long> pairs = new HashSet<>();
+        Long[] courseIds = new Long[ENROLLMENT_CHUNK];
+        Long[] studentIds = new Long[ENROLLMENT_CHUNK];
+        int buffered = 0;
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO course_student (course_id, student_id)
+                SELECT * FROM unnest(?::bigint[], ?::bigint[])
+                """)) {
+            while (pairs.size() < target) {
+                long courseId = coursePopularity.next(random);
+                long studentId = 1 + random.nextLong(settings.students());
+                if (!pairs.add(courseId * settings.students() + studentId)) {
+                    continue;
+                }
+                courseIds[buffered] = courseId;
+                studentIds[buffered] = studentId;
+                if (++buffered == ENROLLMENT_CHUNK) {
+                    flush(connection, statement, courseIds, studentIds, buffered);
+                    buffered = 0;
+                }
+            }
+            if (buffered > 0) {
+                flush(connection, statement, courseIds, studentIds, buffered);
+            }
+        }
+        return pairs.size();
+    }
+
+    private static void flush(Connection connection, PreparedStatement statement,
+                              Long[] courseIds, Long[] studentIds, int count) throws SQLException {
+        statement.setArray(1, connection.createArrayOf("bigint", Arrays.copyOf(courseIds, count)));
+        statement.setArray(2, connection.createArrayOf("bigint", Arrays.copyOf(studentIds, count)));
+        statement.executeUpdate();
+    }
+
+    private static void insertSeries(Connection connection, String sql, int count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, count);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.milko.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one endpoint. Latency is measured from the request's scheduled start,
+ * not the moment it was sent, so a stalled server shows up in the percentiles instead of lowering the rate.
+ */
+final class EndpointStats {
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+}
@@ -0,0 +1,144 @@
+package com.milko.loadtest;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.http.client.HttpClient;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are issued on a fixed schedule of {@code rate} per second regardless of
+ * how fast responses come back, up to {@code maxInFlight} outstanding requests (beyond that they are counted
+ * as dropped). Results from the warm-up period are discarded.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="seed=true rate=1000 durationSeconds=300"
+ * </pre>
+ *
+ * Seeding truncates the tables, so restart the service afterwards to drop its entity caches.
+ */
+public final class LoadTest {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestSettings settings;
+    private final TrafficMix mix;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        this.mix = new TrafficMix(settings);
+        mix.endpoints().forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats(endpoint.name())));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        if (settings.seedDatabase()) {
+            new DatasetSeeder(settings).seed();
+        }
+        new LoadTest(settings).run();
+    }
+
+    private void run() throws Exception {
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration();
+        configuration.setReadTimeout(Duration.ofSeconds(60));
+        configuration.getConnectionPoolConfiguration().setEnabled(true);
+        configuration.getConnectionPoolConfiguration().setMaxConnections(settings.maxInFlight());
+
+        try (HttpClient client = HttpClient.create(URI.create(settings.baseUrl()).toURL(), configuration)) {
+            System.out.printf("warming up for %ds at %d req/s%n", settings.warmup().toSeconds(), settings.rate());
+            drive(client, settings.warmup(), new SplittableRandom(settings.seed() + 1));
+            awaitIdle();
+            stats.values().forEach(EndpointStats::reset);
+            dropped.reset();
+
+            System.out.printf("measuring for %ds at %d req/s%n", settings.duration().toSeconds(), settings.rate());
+            long started = System.nanoTime();
+            drive(client, settings.duration(), new SplittableRandom(settings.seed() + 2));
+            awaitIdle();
+            report(System.nanoTime() - started);
+        }
+    }
+
+    private void drive(HttpClient client, Duration duration, SplittableRandom random) {
+        long period = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * period;
+            if (intendedStart >= end) {
+                return;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            TrafficMix.Endpoint endpoint = mix.next(random);
+            MutableHttpRequest<?> request = endpoint.request().apply(random);
+            if (inFlight.incrementAndGet() > settings.maxInFlight()) {
+                inFlight.decrementAndGet();
+                dropped.increment();
+                continue;
+            }
+            EndpointStats endpointStats = stats.get(endpoint.name());
+            Mono.from(client.exchange(request, Argument.STRING))
+                    .subscribe(
+                            response -> complete(endpointStats, intendedStart, true),
+                            error -> complete(endpointStats, intendedStart, false));
+        }
+    }
+
+    private void complete(EndpointStats endpointStats, long intendedStart, boolean success) {
+        endpointStats.record(System.nanoTime() - intendedStart, success);
+        inFlight.decrementAndGet();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        System.out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpointStats : stats.values()) {
+            Histogram histogram = endpointStats.histogram();
+            total.add(histogram);
+            totalErrors += endpointStats.errors();
+            print(endpointStats.name(), histogram, endpointStats.errors(), seconds);
+        }
+        print("total", total, totalErrors, seconds);
+        System.out.printf("dropped (over maxInFlight=%d): %d, seed: %d%n", settings.maxInFlight(), dropped.sum(), settings.seed());
+    }
+
+    private static void print(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
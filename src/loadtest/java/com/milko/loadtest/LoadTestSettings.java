@@ -0,0 +1,61 @@
+package com.milko.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Run parameters, given as {@code key=value} program arguments. Everything random in a run (dataset,
+ * request mix, target ids) is derived from {@code seed}, so two runs with the same settings issue the same
+ * requests in the same order.
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        String jdbcUrl,
+        String user,
+        String password,
+        boolean seedDatabase,
+        int teachers,
+        int departments,
+        int courses,
+        int students,
+        int enrollments,
+        double zipfExponent,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        long seed) {
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        LoadTestSettings settings = new LoadTestSettings(
+                values.getOrDefault("baseUrl", "http://localhost:8080"),
+                values.getOrDefault("jdbcUrl", "jdbc:postgresql://localhost:5432/student"),
+                values.getOrDefault("user", "student"),
+                values.getOrDefault("password", "student"),
+                Boolean.parseBoolean(values.getOrDefault("seed", "false")),
+                Integer.parseInt(values.getOrDefault("teachers", "500")),
+                Integer.parseInt(values.getOrDefault("departments", "50")),
+                Integer.parseInt(values.getOrDefault("courses", "2000")),
+                Integer.parseInt(values.getOrDefault("students", "50000")),
+                Integer.parseInt(values.getOrDefault("enrollments", "250000")),
+                Double.parseDouble(values.getOrDefault("zipf", "1.1")),
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmupSeconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("durationSeconds", "120"))),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "1024")),
+                Long.parseLong(values.getOrDefault("randomSeed", "20240601")));
+        if (settings.departments > settings.teachers) {
+            throw new IllegalArgumentException("departments must not exceed teachers, each department needs its own head");
+        }
+        return settings;
+    }
+}
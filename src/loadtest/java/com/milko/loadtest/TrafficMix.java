@@ -0,0 +1,93 @@
+package com.milko.loadtest;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.IdListDto;
+import com.milko.dto.StudentDto;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Weighted read/write mix over all four controllers. Reads and enrollments target ids by Zipf popularity,
+ * matching the skew of the seeded enrollments; updates keep the unique title/name columns unchanged so they
+ * never conflict.
+ */
+final class TrafficMix {
+
+    record Endpoint(String name, int weight, Function<SplittableRandom, MutableHttpRequest<?>> request) {
+    }
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    TrafficMix(LoadTestSettings settings) {
+        ZipfSampler courses = new ZipfSampler(settings.courses(), settings.zipfExponent());
+        ZipfSampler students = new ZipfSampler(settings.students(), settings.zipfExponent());
+        ZipfSampler teachers = new ZipfSampler(settings.teachers(), settings.zipfExponent());
+        int departments = settings.departments();
+
+        add("GET /courses/{id}", 20, random -> HttpRequest.GET("/api/v1/courses/" + courses.next(random)));
+        add("GET /courses?after", 4, random -> HttpRequest.GET("/api/v1/courses?limit=50&after=" + random.nextLong(settings.courses())));
+        add("PATCH /courses/{id}", 3, random -> {
+            long id = courses.next(random);
+            return HttpRequest.PATCH("/api/v1/courses/" + id, CourseDto.builder().title("Course " + id).build());
+        });
+        add("POST /courses/{id}/students:batch", 2, random -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                ids.add(1 + random.nextLong(settings.students()));
+            }
+            return HttpRequest.POST("/api/v1/courses/" + courses.next(random) + "/students:batch", new IdListDto(ids));
+        });
+
+        add("GET /students/{id}", 20, random -> HttpRequest.GET("/api/v1/students/" + students.next(random)));
+        add("GET /students/{id}/courses", 10, random -> HttpRequest.GET("/api/v1/students/" + students.next(random) + "/courses"));
+        add("GET /students?after", 4, random -> HttpRequest.GET("/api/v1/students?limit=50&after=" + random.nextLong(settings.students())));
+        add("PATCH /students/{id}", 5, random -> {
+            long id = students.next(random);
+            return HttpRequest.PATCH("/api/v1/students/" + id, StudentDto.builder()
+                    .name("Student " + id)
+                    .email("student" + id + "+" + random.nextInt(1000) + "@example.com")
+                    .build());
+        });
+        add("POST /students/{id}/courses/{id}", 7, random -> HttpRequest.POST(
+                "/api/v1/students/" + (1 + random.nextLong(settings.students())) + "/courses/" + courses.next(random), ""));
+
+        add("GET /teachers/{id}", 12, random -> HttpRequest.GET("/api/v1/teachers/" + teachers.next(random)));
+        add("GET /teachers?after", 3, random -> HttpRequest.GET("/api/v1/teachers?limit=50&after=" + random.nextLong(settings.teachers())));
+
+        add("GET /departments/{id}", 8, random -> HttpRequest.GET("/api/v1/departments/" + (1 + random.nextLong(departments))));
+        add("GET /departments?after", 2, random -> HttpRequest.GET("/api/v1/departments?limit=50&after=" + random.nextLong(departments)));
+
+        cumulativeWeights = new int[endpoints.size()];
+        int sum = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            sum += endpoints.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+        totalWeight = sum;
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    Endpoint next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        throw new IllegalStateException("weights exhausted");
+    }
+
+    private void add(String name, int weight, Function<SplittableRandom, MutableHttpRequest<?>> request) {
+        endpoints.add(new Endpoint(name, weight, request));
+    }
+}
@@ -0,0 +1,23 @@
+package com.milko.bulkhead;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method inside the named bulkhead from {@code bulkheads.<name>}: calls beyond its
+ * {@code max-concurrent-calls} fail fast with a 503, and R2DBC connections opened by the returned publisher come
+ * from the bulkhead's own datasource instead of the default pool. The datasource is an R2DBC one: the JDBC and
+ * Vert.x backends keep using their single pool, so on those a bulkhead only limits concurrency.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface Bulkhead {
+    String value();
+}
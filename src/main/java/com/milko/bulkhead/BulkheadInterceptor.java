@@ -0,0 +1,62 @@
+package com.milko.bulkhead;
+
+import com.milko.repository.routing.DatasourceRouting;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Runs ahead of the transaction interceptor, so a transactional method in a compartment already sees the
+ * compartment's datasource in its Reactor context when it opens its connection.
+ */
+@Singleton
+@RequiredArgsConstructor
+@InterceptorBean(Bulkhead.class)
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object>, Ordered {
+    private final BulkheadRegistry registry;
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        BulkheadRegistry.Compartment compartment = registry.get(context.stringValue(Bulkhead.class).orElseThrow());
+        Class<?> returnType = context.getReturnType().getType();
+        if (Flux.class.isAssignableFrom(returnType)) {
+            Flux<?> flux = (Flux<?>) context.proceed();
+            return Flux.defer(() -> {
+                        compartment.acquire();
+                        return flux.doFinally(signal -> compartment.release());
+                    })
+                    .contextWrite(ctx -> route(ctx, compartment));
+        }
+        if (Mono.class.isAssignableFrom(returnType)) {
+            Mono<?> mono = (Mono<?>) context.proceed();
+            return Mono.defer(() -> {
+                        compartment.acquire();
+                        return mono.doFinally(signal -> compartment.release());
+                    })
+                    .contextWrite(ctx -> route(ctx, compartment));
+        }
+        compartment.acquire();
+        try {
+            return context.proceed();
+        } finally {
+            compartment.release();
+        }
+    }
+
+    private static Context route(Context context, BulkheadRegistry.Compartment compartment) {
+        String datasource = compartment.getProperties().getDatasource();
+        return datasource == null ? context : context.put(DatasourceRouting.DATASOURCE_KEY, datasource);
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 10;
+    }
+}
@@ -0,0 +1,45 @@
+package com.milko.bulkhead;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives a bulkhead datasource with {@code event-loop-threads > 0} its own Netty event loops, so decoding large
+ * result sets does not run on the loops that serve point lookups on the default pool.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class BulkheadLoopResources implements BeanCreatedEventListener<ConnectionFactoryOptions.Builder> {
+    private final BulkheadRegistry registry;
+    private final Map<String, LoopResources> loops = new ConcurrentHashMap<>();
+
+    @Override
+    public ConnectionFactoryOptions.Builder onCreated(BeanCreatedEvent<ConnectionFactoryOptions.Builder> event) {
+        String datasource = event.getBeanIdentifier().getName();
+        return registry.forDatasource(datasource)
+                .filter(properties -> properties.getEventLoopThreads() > 0)
+                .map(properties -> {
+                    log.info("in onCreated, datasource = {}, eventLoopThreads = {}", datasource, properties.getEventLoopThreads());
+                    LoopResources loopResources = loops.computeIfAbsent(datasource,
+                            name -> LoopResources.create("r2dbc-" + name, properties.getEventLoopThreads(), true));
+                    return event.getBean().option(PostgresqlConnectionFactoryProvider.LOOP_RESOURCES, loopResources);
+                })
+                .orElseGet(event::getBean);
+    }
+
+    @PreDestroy
+    void close() {
+        loops.values().forEach(LoopResources::dispose);
+    }
+}
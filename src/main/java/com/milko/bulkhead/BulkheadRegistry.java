@@ -0,0 +1,97 @@
+package com.milko.bulkhead;
+
+import com.milko.config.BulkheadProperties;
+import com.milko.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Singleton
+public class BulkheadRegistry implements MeterBinder {
+    private final Map<String, Compartment> compartments;
+
+    public BulkheadRegistry(List<BulkheadProperties> properties) {
+        this.compartments = new ConcurrentHashMap<>(properties.stream()
+                .collect(Collectors.toMap(BulkheadProperties::getName, Compartment::new)));
+    }
+
+    public Compartment get(String name) {
+        Compartment compartment = compartments.get(name);
+        if (compartment == null) {
+            throw new IllegalStateException("Bulkhead " + name + " is not configured under bulkheads." + name);
+        }
+        return compartment;
+    }
+
+    public Optional<BulkheadProperties> forDatasource(String datasource) {
+        return compartments.values().stream()
+                .map(Compartment::getProperties)
+                .filter(properties -> datasource.equals(properties.getDatasource()))
+                .findFirst();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        compartments.values().forEach(compartment -> {
+            String name = compartment.getProperties().getName();
+            Gauge.builder("bulkhead.active", compartment, Compartment::getActive)
+                    .description("Calls currently running inside the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("bulkhead.max.concurrent", compartment, c -> c.getProperties().getMaxConcurrentCalls())
+                    .description("Configured concurrency limit of the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            compartment.rejected = Counter.builder("bulkhead.rejected")
+                    .description("Calls refused because the bulkhead was full")
+                    .tag("bulkhead", name)
+                    .register(registry);
+        });
+    }
+
+    public static final class Compartment {
+        private final BulkheadProperties properties;
+        private final Semaphore permits;
+        private volatile Counter rejected;
+
+        private Compartment(BulkheadProperties properties) {
+            this.properties = properties;
+            this.permits = new Semaphore(properties.getMaxConcurrentCalls());
+        }
+
+        public BulkheadProperties getProperties() {
+            return properties;
+        }
+
+        public int getActive() {
+            return properties.getMaxConcurrentCalls() - permits.availablePermits();
+        }
+
+        public void acquire() {
+            if (!permits.tryAcquire()) {
+                Counter counter = rejected;
+                if (counter != null) {
+                    counter.increment();
+                }
+                log.warn("in acquire, bulkhead {} is full, maxConcurrentCalls = {}",
+                        properties.getName(), properties.getMaxConcurrentCalls());
+                throw new BulkheadFullException(properties.getName());
+            }
+        }
+
+        public void release() {
+            permits.release();
+        }
+    }
+}
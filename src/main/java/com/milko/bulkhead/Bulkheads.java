@@ -0,0 +1,9 @@
+package com.milko.bulkhead;
+
+public final class Bulkheads {
+    public static final String BULK = "bulk";
+    public static final String EXPORT = "export";
+
+    private Bulkheads() {
+    }
+}
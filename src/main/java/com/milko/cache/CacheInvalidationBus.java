@@ -0,0 +1,76 @@
+package com.milko.cache;
+
+import com.milko.config.CacheInvalidationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+
+@Slf4j
+@Singleton
+@Requires(property = "cache.invalidation.enabled", value = "true")
+public class CacheInvalidationBus {
+    private final ConnectionFactory connectionFactory;
+    private final CacheInvalidationProperties properties;
+    private final Sinks.Many<InvalidationEvent> sink = Sinks.many().unicast().onBackpressureBuffer();
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private Disposable publisher;
+
+    public CacheInvalidationBus(ConnectionFactory connectionFactory, CacheInvalidationProperties properties) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        publisher = sink.asFlux()
+                .bufferTimeout(properties.getMaxBatchSize(), properties.getBatchWindow())
+                .map(events -> InvalidationBatch.coalesce(nodeId, events, properties.getMaxIdsPerCache()))
+                .filter(batch -> !batch.isEmpty())
+                .concatMap(batch -> notify(batch.encode())
+                        .onErrorResume(e -> {
+                            log.error("in publish, failed to send invalidation batch", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    public synchronized void publish(InvalidationEvent event) {
+        Sinks.EmitResult result = sink.tryEmitNext(event);
+        if (result.isFailure()) {
+            log.warn("in publish, dropped invalidation event {}: {}", event, result);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        sink.tryEmitComplete();
+        if (publisher != null) {
+            publisher.dispose();
+        }
+    }
+
+    private Mono<Void> notify(String payload) {
+        log.debug("in notify, channel = {}, payload = {}", properties.getChannel(), payload);
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement("SELECT pg_notify($1, $2)")
+                                .bind("$1", properties.getChannel())
+                                .bind("$2", payload)
+                                .execute())
+                        .flatMap(result -> result.map((row, metadata) -> 1))
+                        .then(),
+                Connection::close);
+    }
+}
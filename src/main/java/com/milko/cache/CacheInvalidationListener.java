@@ -0,0 +1,106 @@
+package com.milko.cache;
+
+import com.milko.config.CacheInvalidationProperties;
+import com.milko.repository.PostgresConnections;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Singleton
+@Requires(property = "cache.invalidation.enabled", value = "true")
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements ApplicationEventListener<StartupEvent> {
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final ConnectionFactory connectionFactory;
+    private final CacheInvalidationProperties properties;
+    private final CacheInvalidationBus bus;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final AtomicBoolean listenedBefore = new AtomicBoolean();
+    private Disposable subscription;
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        String channel = properties.getChannel();
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        subscription = Flux.usingWhen(
+                        listenerConnection(),
+                        connection -> connection.createStatement("LISTEN " + channel)
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .then(Mono.fromRunnable(() -> onListening(channel)))
+                                .thenMany(connection.getNotifications()),
+                        PostgresqlConnection::close)
+                .concatWith(Mono.error(() -> new IllegalStateException("listener connection closed")))
+                .doOnSubscribe(s -> log.info("in onApplicationEvent, listening on channel {}", channel))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getReconnectBackoff())
+                        .doBeforeRetry(signal -> log.warn("in onApplicationEvent, listener connection lost, reconnecting",
+                                signal.failure())))
+                .subscribe(this::onNotification);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Notifications sent while the listener connection was down are lost, so after a reconnect every entity cache
+     * is flushed locally instead of serving entries that peers may have invalidated in the meantime.
+     */
+    private void onListening(String channel) {
+        if (!listenedBefore.getAndSet(true)) {
+            return;
+        }
+        log.info("in onListening, resubscribed to channel {}, flushing entity caches", channel);
+        EntityCaches.ALL.forEach(cacheInvalidator::evictAllLocally);
+    }
+
+    private void onNotification(Notification notification) {
+        String payload = notification.getParameter();
+        if (payload == null) {
+            return;
+        }
+        try {
+            InvalidationBatch batch = InvalidationBatch.decode(payload);
+            if (bus.getNodeId().equals(batch.getOrigin())) {
+                return;
+            }
+            log.debug("in onNotification, payload = {}", payload);
+            batch.getIds().forEach((cacheName, ids) ->
+                    ids.forEach(id -> cacheInvalidator.evictLocally(cacheName, id)));
+            batch.getFlushed().forEach(cacheInvalidator::evictAllLocally);
+        } catch (RuntimeException e) {
+            log.error("in onNotification, failed to apply invalidation payload {}", payload, e);
+        }
+    }
+
+    private Mono<PostgresqlConnection> listenerConnection() {
+        return Mono.from(PostgresConnections.unpooled(connectionFactory).create())
+                .flatMap(connection -> PostgresConnections.unwrap(connection)
+                        .map(Mono::just)
+                        .orElseGet(() -> Mono.from(connection.close())
+                                .then(Mono.error(new IllegalStateException(
+                                        "LISTEN/NOTIFY requires an r2dbc-postgresql connection")))));
+    }
+}
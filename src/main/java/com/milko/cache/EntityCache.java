@@ -0,0 +1,86 @@
+package com.milko.cache;
+
+import com.milko.service.loader.SingleFlight;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.core.type.Argument;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through access to the entity caches. Every invalidation bumps a generation before dropping the entry, and a
+ * load only fills the cache if the generation it started under is still current, so a read that began before a
+ * write cannot put the old graph back after the write's eviction. The generation is also part of the single-flight
+ * key, so callers arriving after a write never join a load that started before it. Generations are striped, so an
+ * unrelated eviction in the same stripe only costs a skipped fill.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class EntityCache {
+    private static final int STRIPES = 1024;
+
+    private final CacheManager<?> cacheManager;
+    private final SingleFlight singleFlight;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Map<String, AtomicLong> cacheGenerations = new ConcurrentHashMap<>();
+
+    public <T> Mono<T> get(String cacheName, Long id, Class<T> type, Supplier<Mono<T>> load) {
+        return Mono.defer(() -> {
+            SyncCache<?> cache = cacheManager.getCache(cacheName);
+            Optional<T> cached = cache.get(id, Argument.of(type));
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
+            long generation = generation(cacheName, id);
+            return singleFlight.execute(cacheName, new LoadKey(id, generation), () -> load.get()
+                    .doOnNext(value -> fill(cache, cacheName, id, generation, value)));
+        });
+    }
+
+    public void invalidate(String cacheName, Long id) {
+        generations.incrementAndGet(stripe(cacheName, id));
+        cacheManager.getCache(cacheName).invalidate(id);
+    }
+
+    public void invalidateAll(String cacheName) {
+        cacheGeneration(cacheName).incrementAndGet();
+        cacheManager.getCache(cacheName).invalidateAll();
+    }
+
+    private void fill(SyncCache<?> cache, String cacheName, Long id, long generation, Object value) {
+        if (generation(cacheName, id) != generation) {
+            log.debug("in fill, {} {} was invalidated while loading, not caching", cacheName, id);
+            return;
+        }
+        cache.put(id, value);
+        if (generation(cacheName, id) != generation) {
+            cache.invalidate(id);
+        }
+    }
+
+    private long generation(String cacheName, Long id) {
+        return cacheGeneration(cacheName).get() + generations.get(stripe(cacheName, id));
+    }
+
+    private AtomicLong cacheGeneration(String cacheName) {
+        return cacheGenerations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private static int stripe(String cacheName, Long id) {
+        return Math.floorMod(Objects.hash(cacheName, id), STRIPES);
+    }
+
+    private record LoadKey(Long id, long generation) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.milko.cache;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.DepartmentDto;
+import com.milko.dto.StudentDto;
+import com.milko.dto.TeacherDto;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+@Singleton
+public class EntityCacheInvalidator {
+    private final EntityCache entityCache;
+    private final CacheInvalidationBus bus;
+
+    public EntityCacheInvalidator(EntityCache entityCache, @Nullable CacheInvalidationBus bus) {
+        this.entityCache = entityCache;
+        this.bus = bus;
+    }
+
+    public void evictCourse(CourseDto course) {
+        evict(EntityCaches.COURSES, course.getId());
+        if (course.getTeacher() != null) {
+            evict(EntityCaches.TEACHERS, course.getTeacher().getId());
+        }
+        nullSafe(course.getStudents()).forEach(student -> evict(EntityCaches.STUDENTS, student.getId()));
+    }
+
+    public void evictTeacher(TeacherDto teacher) {
+        evict(EntityCaches.TEACHERS, teacher.getId());
+        if (teacher.getDepartment() != null) {
+            evict(EntityCaches.DEPARTMENTS, teacher.getDepartment().getId());
+        }
+        nullSafe(teacher.getCourses()).forEach(course -> evict(EntityCaches.COURSES, course.getId()));
+    }
+
+    public void evictDepartment(DepartmentDto department) {
+        evict(EntityCaches.DEPARTMENTS, department.getId());
+        if (department.getHeadOfDepartment() != null) {
+            evict(EntityCaches.TEACHERS, department.getHeadOfDepartment().getId());
+        }
+    }
+
+    public void evictStudent(StudentDto student) {
+        evict(EntityCaches.STUDENTS, student.getId());
+        nullSafe(student.getCourses()).forEach(course -> evict(EntityCaches.COURSES, course.getId()));
+    }
+
+    public void courseDeleted(Long id) {
+        evict(EntityCaches.COURSES, id);
+        evictAll(EntityCaches.TEACHERS);
+        evictAll(EntityCaches.STUDENTS);
+    }
+
+    public void teacherDeleted(Long id) {
+        evict(EntityCaches.TEACHERS, id);
+        evictAll(EntityCaches.COURSES);
+        evictAll(EntityCaches.DEPARTMENTS);
+        evictAll(EntityCaches.STUDENTS);
+    }
+
+    public void departmentDeleted(Long id) {
+        evict(EntityCaches.DEPARTMENTS, id);
+        evictAll(EntityCaches.TEACHERS);
+    }
+
+    public void studentDeleted(Long id) {
+        evict(EntityCaches.STUDENTS, id);
+        evictAll(EntityCaches.COURSES);
+    }
+
+    public void evict(String cacheName, Long id) {
+        if (id == null) {
+            return;
+        }
+        evictLocally(cacheName, id);
+        if (bus != null) {
+            bus.publish(new InvalidationEvent(cacheName, id));
+        }
+    }
+
+    public void evictAll(String cacheName) {
+        evictAllLocally(cacheName);
+        if (bus != null) {
+            bus.publish(InvalidationEvent.all(cacheName));
+        }
+    }
+
+    void evictLocally(String cacheName, Long id) {
+        log.debug("evicting {} from cache {}", id, cacheName);
+        entityCache.invalidate(cacheName, id);
+    }
+
+    void evictAllLocally(String cacheName) {
+        log.debug("evicting all entries from cache {}", cacheName);
+        entityCache.invalidateAll(cacheName);
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
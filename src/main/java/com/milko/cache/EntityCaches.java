@@ -0,0 +1,14 @@
+package com.milko.cache;
+
+import java.util.List;
+
+public final class EntityCaches {
+    public static final String COURSES = "courses";
+    public static final String TEACHERS = "teachers";
+    public static final String DEPARTMENTS = "departments";
+    public static final String STUDENTS = "students";
+    public static final List<String> ALL = List.of(COURSES, TEACHERS, DEPARTMENTS, STUDENTS);
+
+    private EntityCaches() {
+    }
+}
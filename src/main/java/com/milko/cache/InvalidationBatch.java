@@ -0,0 +1,101 @@
+package com.milko.cache;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Getter
+public class InvalidationBatch {
+    private static final String ORIGIN_SEPARATOR = "|";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String KEY_SEPARATOR = ":";
+    private static final String ID_SEPARATOR = ",";
+    private static final String ALL = "*";
+
+    private final String origin;
+    private final Map<String, Set<Long>> ids = new LinkedHashMap<>();
+    private final Set<String> flushed = new LinkedHashSet<>();
+
+    public InvalidationBatch(String origin) {
+        this.origin = origin;
+    }
+
+    public static InvalidationBatch coalesce(String origin, Collection<InvalidationEvent> events, int maxIdsPerCache) {
+        InvalidationBatch batch = new InvalidationBatch(origin);
+        events.forEach(event -> batch.add(event, maxIdsPerCache));
+        return batch;
+    }
+
+    public void add(InvalidationEvent event, int maxIdsPerCache) {
+        String cacheName = event.cacheName();
+        if (flushed.contains(cacheName)) {
+            return;
+        }
+        if (event.id() == null) {
+            flush(cacheName);
+            return;
+        }
+        Set<Long> cacheIds = ids.computeIfAbsent(cacheName, name -> new LinkedHashSet<>());
+        cacheIds.add(event.id());
+        if (cacheIds.size() > maxIdsPerCache) {
+            flush(cacheName);
+        }
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty() && flushed.isEmpty();
+    }
+
+    public String encode() {
+        String entries = ids.entrySet().stream()
+                .map(entry -> entry.getKey() + KEY_SEPARATOR + entry.getValue().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(ID_SEPARATOR)))
+                .collect(Collectors.joining(ENTRY_SEPARATOR));
+        String flushes = flushed.stream()
+                .map(cacheName -> cacheName + KEY_SEPARATOR + ALL)
+                .collect(Collectors.joining(ENTRY_SEPARATOR));
+        String body = entries.isEmpty() ? flushes
+                : flushes.isEmpty() ? entries
+                : entries + ENTRY_SEPARATOR + flushes;
+        return origin + ORIGIN_SEPARATOR + body;
+    }
+
+    public static InvalidationBatch decode(String payload) {
+        int originEnd = payload.indexOf(ORIGIN_SEPARATOR);
+        if (originEnd < 0) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        InvalidationBatch batch = new InvalidationBatch(payload.substring(0, originEnd));
+        String body = payload.substring(originEnd + 1);
+        if (body.isEmpty()) {
+            return batch;
+        }
+        for (String entry : body.split(ENTRY_SEPARATOR)) {
+            int keyEnd = entry.indexOf(KEY_SEPARATOR);
+            if (keyEnd < 0) {
+                throw new IllegalArgumentException("Malformed invalidation entry: " + entry);
+            }
+            String cacheName = entry.substring(0, keyEnd);
+            String value = entry.substring(keyEnd + 1);
+            if (ALL.equals(value)) {
+                batch.flush(cacheName);
+                continue;
+            }
+            for (String id : value.split(ID_SEPARATOR)) {
+                batch.add(new InvalidationEvent(cacheName, Long.valueOf(id)), Integer.MAX_VALUE);
+            }
+        }
+        return batch;
+    }
+
+    private void flush(String cacheName) {
+        ids.remove(cacheName);
+        flushed.add(cacheName);
+    }
+}
@@ -0,0 +1,8 @@
+package com.milko.cache;
+
+public record InvalidationEvent(String cacheName, Long id) {
+
+    public static InvalidationEvent all(String cacheName) {
+        return new InvalidationEvent(cacheName, null);
+    }
+}
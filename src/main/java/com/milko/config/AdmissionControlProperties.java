@@ -0,0 +1,18 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("api.admission")
+public class AdmissionControlProperties {
+    private boolean enabled = false;
+    private int maxPendingAcquires = 100;
+    private int maxQueued = 0;
+    private Duration queueTimeout = Duration.ofMillis(200);
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,20 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EachProperty("bulkheads")
+public class BulkheadProperties {
+    private final String name;
+    private int maxConcurrentCalls = 4;
+    private String datasource;
+    private int eventLoopThreads = 0;
+
+    public BulkheadProperties(@Parameter String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,19 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("cache.invalidation")
+public class CacheInvalidationProperties {
+    private boolean enabled = false;
+    private String channel = "entity_cache_invalidation";
+    private Duration batchWindow = Duration.ofMillis(50);
+    private int maxBatchSize = 256;
+    private int maxIdsPerCache = 100;
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,13 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("api.export")
+public class ExportProperties {
+    private int fetchSize = 1000;
+    private int rowsPerChunk = 256;
+}
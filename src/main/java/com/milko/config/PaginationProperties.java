@@ -0,0 +1,20 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("api.pagination")
+public class PaginationProperties {
+    private int defaultLimit = 100;
+    private int maxLimit = 1000;
+
+    public int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
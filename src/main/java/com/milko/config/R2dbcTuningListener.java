@@ -0,0 +1,29 @@
+package com.milko.config;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class R2dbcTuningListener implements BeanCreatedEventListener<ConnectionFactoryOptions.Builder> {
+    private final R2dbcTuningProperties properties;
+
+    @Override
+    public ConnectionFactoryOptions.Builder onCreated(BeanCreatedEvent<ConnectionFactoryOptions.Builder> event) {
+        log.debug("in onCreated, preparedStatementCacheQueries = {}, fetchSize = {}, forceBinary = {}",
+                properties.getPreparedStatementCacheQueries(), properties.getFetchSize(), properties.isForceBinary());
+        return event.getBean()
+                .option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES,
+                        properties.getPreparedStatementCacheQueries())
+                .option(PostgresqlConnectionFactoryProvider.FETCH_SIZE, properties.getFetchSize())
+                .option(PostgresqlConnectionFactoryProvider.FORCE_BINARY, properties.isForceBinary())
+                .option(PostgresqlConnectionFactoryProvider.TCP_NODELAY, properties.isTcpNoDelay())
+                .option(PostgresqlConnectionFactoryProvider.TCP_KEEPALIVE, properties.isTcpKeepAlive());
+    }
+}
@@ -0,0 +1,16 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("r2dbc.tuning")
+public class R2dbcTuningProperties {
+    private int preparedStatementCacheQueries = 256;
+    private int fetchSize = 0;
+    private boolean forceBinary = true;
+    private boolean tcpNoDelay = true;
+    private boolean tcpKeepAlive = true;
+}
@@ -0,0 +1,16 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("replica")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private String datasource = "replica";
+    private Duration pollInterval = Duration.ofMillis(100);
+}
@@ -0,0 +1,18 @@
+package com.milko.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("repository.vertx")
+public class VertxPgProperties {
+    private String uri = "postgresql://localhost:5432/student";
+    private String user = "student";
+    private String password = "student";
+    private int maxSize = 8;
+    private int pipeliningLimit = 256;
+    private boolean cachePreparedStatements = true;
+    private int preparedStatementCacheMaxSize = 256;
+}
@@ -0,0 +1,19 @@
+package com.milko.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentItemDto {
+    private Long id;
+    private EnrollmentStatus status;
+}
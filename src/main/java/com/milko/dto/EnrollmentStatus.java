@@ -0,0 +1,7 @@
+package com.milko.dto;
+
+public enum EnrollmentStatus {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    NOT_FOUND
+}
@@ -0,0 +1,24 @@
+package com.milko.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportDto {
+    private long received;
+    private long inserted;
+    private long skipped;
+    private long rejected;
+    private List<ImportRowErrorDto> errors;
+}
@@ -0,0 +1,18 @@
+package com.milko.dto.records;
+
+import io.micronaut.core.annotation.Introspected;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Introspected
+public class TeacherAssignmentResult {
+    private boolean targetExists;
+    private boolean teacherExists;
+    private Long previousTeacherId;
+}
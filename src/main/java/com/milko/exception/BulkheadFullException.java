@@ -0,0 +1,13 @@
+package com.milko.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead " + bulkhead + " is at its concurrency limit");
+        this.bulkhead = bulkhead;
+    }
+}
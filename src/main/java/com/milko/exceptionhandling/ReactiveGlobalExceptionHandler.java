@@ -1,18 +1,23 @@
 package com.milko.exceptionhandling;
 
+import com.milko.exception.BulkheadFullException;
 import com.milko.exception.EntityNotFoundException;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.server.exceptions.ExceptionHandler;
 import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.vertx.pgclient.PgException;
 import jakarta.inject.Singleton;
 import reactor.core.publisher.Mono;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 
 @Singleton
 public class ReactiveGlobalExceptionHandler implements ExceptionHandler<Throwable, Mono<HttpResponse<?>>> {
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
 
     @Override
     public Mono<HttpResponse<?>> handle(HttpRequest request, Throwable exception) {
@@ -43,6 +48,46 @@ public class ReactiveGlobalExceptionHandler implements ExceptionHandler<Throwabl
                     .body(errorResponse));
         }
 
+        if (exception instanceof SQLException sqlException && isIntegrityViolation(sqlException.getSQLState())){
+            errorResponse = new ErrorResponse(
+                    LocalDateTime.now(),
+                    "409",
+                    "SQLException",
+                    exception.getMessage(),
+                    request.getPath()
+            );
+            return Mono.just(HttpResponse
+                    .status(HttpStatus.CONFLICT)
+                    .body(errorResponse));
+        }
+
+        if (exception instanceof PgException pgException && isIntegrityViolation(pgException.getSqlState())){
+            errorResponse = new ErrorResponse(
+                    LocalDateTime.now(),
+                    "409",
+                    "PgException",
+                    exception.getMessage(),
+                    request.getPath()
+            );
+            return Mono.just(HttpResponse
+                    .status(HttpStatus.CONFLICT)
+                    .body(errorResponse));
+        }
+
+        if (exception instanceof BulkheadFullException){
+            errorResponse = new ErrorResponse(
+                    LocalDateTime.now(),
+                    "503",
+                    "BulkheadFullException",
+                    exception.getMessage(),
+                    request.getPath()
+            );
+            return Mono.just(HttpResponse
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(errorResponse));
+        }
+
         return Mono.just(HttpResponse.serverError(new ErrorResponse(
                 LocalDateTime.now(),
                 "500",
@@ -51,4 +96,8 @@ public class ReactiveGlobalExceptionHandler implements ExceptionHandler<Throwabl
                 request.getPath()
         )));
     }
+
+    private static boolean isIntegrityViolation(String sqlState) {
+        return sqlState != null && sqlState.startsWith(INTEGRITY_CONSTRAINT_VIOLATION);
+    }
 }
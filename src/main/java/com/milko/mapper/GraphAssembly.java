@@ -0,0 +1,85 @@
+package com.milko.mapper;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.StudentDto;
+import com.milko.dto.TeacherDto;
+import com.milko.dto.records.CourseStudentsView;
+import com.milko.dto.records.StudentCoursesView;
+import com.milko.model.Course;
+import com.milko.model.Student;
+import com.milko.model.Teacher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles list responses from a page of entities and their batch-loaded relations. Kept free of I/O so the
+ * reactive and JDBC services share it and it can be benchmarked in isolation.
+ */
+public final class GraphAssembly {
+
+    private GraphAssembly() {
+    }
+
+    public static List<CourseDto> courses(List<Course> courses, List<Teacher> teachers, List<CourseStudentsView> studentViews,
+                                          CourseMapper courseMapper, StudentMapper studentMapper, TeacherMapper teacherMapper) {
+        Map<Long, Teacher> teachersMap = teachers.stream()
+                .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
+        Map<Long, List<Student>> studentsByCourseId = studentViews.stream()
+                .collect(Collectors.groupingBy(CourseStudentsView::getCourseId,
+                        Collectors.mapping(studentMapper::toStudent, Collectors.toList())));
+
+        return courses.stream()
+                .map(course -> {
+                    CourseDto courseDto = courseMapper.toCourseDto(course);
+                    courseDto.setTeacher(teacherMapper.toTeacherDto(
+                            teachersMap.getOrDefault(course.getTeacherId(), null)
+                    ));
+
+                    List<StudentDto> studentDtoList = studentsByCourseId
+                            .getOrDefault(course.getId(), List.of())
+                            .stream()
+                            .map(studentMapper::toStudentDto)
+                            .toList();
+
+                    courseDto.setStudents(studentDtoList);
+                    return courseDto;
+                })
+                .toList();
+    }
+
+    public static Map<Long, List<Course>> coursesByStudentId(List<StudentCoursesView> courseViews, CourseMapper courseMapper) {
+        return courseViews.stream()
+                .collect(Collectors.groupingBy(StudentCoursesView::getStudentId,
+                        Collectors.mapping(courseMapper::toCourse, Collectors.toList())));
+    }
+
+    public static List<Long> courseIds(Map<Long, List<Course>> coursesByStudentId) {
+        return coursesByStudentId.values().stream()
+                .flatMap(courses -> courses.stream().map(Course::getId))
+                .distinct()
+                .toList();
+    }
+
+    public static List<StudentDto> students(List<Student> students, Map<Long, List<Course>> coursesByStudentId, List<Teacher> teachers,
+                                            StudentMapper studentMapper, CourseMapper courseMapper, TeacherMapper teacherMapper) {
+        Map<Long, Teacher> teacherMap = teachers.stream()
+                .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
+
+        return students.stream()
+                .map(student -> {
+                    StudentDto studentDto = studentMapper.toStudentDto(student);
+                    List<CourseDto> courseDtos = coursesByStudentId.getOrDefault(student.getId(), List.of()).stream()
+                            .map(course -> {
+                                CourseDto courseDto = courseMapper.toCourseDto(course);
+                                Teacher teacher = teacherMap.get(course.getTeacherId());
+                                TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
+                                courseDto.setTeacher(teacherDto);
+                                return courseDto;
+                            }).toList();
+                    studentDto.setCourses(courseDtos);
+                    return studentDto;
+                }).toList();
+    }
+}
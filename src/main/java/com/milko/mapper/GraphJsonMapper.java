@@ -0,0 +1,23 @@
+package com.milko.mapper;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Singleton
+@RequiredArgsConstructor
+public class GraphJsonMapper {
+    private final JsonMapper jsonMapper;
+
+    public <T> T read(String json, Class<T> type) {
+        try {
+            return jsonMapper.readValue(json, Argument.of(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + type.getSimpleName() + " graph", e);
+        }
+    }
+}
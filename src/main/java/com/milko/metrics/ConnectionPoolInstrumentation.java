@@ -0,0 +1,75 @@
+package com.milko.metrics;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class ConnectionPoolInstrumentation implements BeanCreatedEventListener<ConnectionFactory> {
+    private final ConnectionPoolMonitor monitor;
+
+    @Override
+    public ConnectionFactory onCreated(BeanCreatedEvent<ConnectionFactory> event) {
+        if (!(event.getBean() instanceof ConnectionPool pool)) {
+            return event.getBean();
+        }
+        String name = event.getBeanIdentifier().getName();
+        log.info("in onCreated, instrumenting connection pool {}", name);
+        monitor.attach(name, pool);
+        return new TimedConnectionPool(name, pool, monitor);
+    }
+
+    @RequiredArgsConstructor
+    static final class TimedConnectionPool implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable, Disposable {
+        private final String name;
+        private final ConnectionPool pool;
+        private final ConnectionPoolMonitor monitor;
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return pool.create()
+                        .doFinally(signal -> monitor.recordAcquire(name, System.nanoTime() - start));
+            });
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return pool.getMetadata();
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return pool;
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return pool.close();
+        }
+
+        @Override
+        public void dispose() {
+            pool.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return pool.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.milko.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Live view of the R2DBC pools, tagged with the datasource name. Pools are attached by
+ * {@link ConnectionPoolInstrumentation} when they are created, which may be before or after the registry binds
+ * this; acquires that happen before the registry exists are not timed.
+ */
+@Singleton
+public class ConnectionPoolMonitor implements MeterBinder {
+    public static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+    public static final String DEFAULT_POOL = "default";
+
+    private final Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+    private final Map<String, Timer> acquireTimers = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> acquireCompletions = Sinks.many().multicast().directBestEffort();
+    private MeterRegistry registry;
+
+    synchronized void attach(String name, ConnectionPool pool) {
+        pools.put(name, pool);
+        if (registry != null) {
+            register(registry, name);
+        }
+    }
+
+    void recordAcquire(String name, long nanos) {
+        Timer timer = acquireTimers.get(name);
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        acquireCompletions.tryEmitNext(name);
+    }
+
+    /**
+     * Emits the pool name whenever an acquire on it completes, fails or is cancelled, i.e. whenever its pending
+     * count may have dropped. Best effort: an emission racing another one is dropped rather than retried.
+     */
+    public Flux<String> acquireCompletions() {
+        return acquireCompletions.asFlux();
+    }
+
+    public int getPendingAcquires() {
+        return getPendingAcquires(DEFAULT_POOL);
+    }
+
+    public int getPendingAcquires(String name) {
+        return metric(name, PoolMetrics::pendingAcquireSize);
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        pools.keySet().forEach(name -> register(registry, name));
+    }
+
+    private void register(MeterRegistry registry, String name) {
+        gauge(registry, name, "r2dbc.pool.acquired", "Connections currently checked out", PoolMetrics::acquiredSize);
+        gauge(registry, name, "r2dbc.pool.idle", "Idle connections in the pool", PoolMetrics::idleSize);
+        gauge(registry, name, "r2dbc.pool.pending", "Subscribers waiting for a connection", PoolMetrics::pendingAcquireSize);
+        gauge(registry, name, "r2dbc.pool.allocated", "Connections opened by the pool", PoolMetrics::allocatedSize);
+        gauge(registry, name, "r2dbc.pool.max.allocated", "Upper bound of opened connections", PoolMetrics::getMaxAllocatedSize);
+        acquireTimers.put(name, Timer.builder(ACQUIRE_TIMER)
+                .description("Time from requesting a connection until the pool hands one out")
+                .tag("pool", name)
+                .register(registry));
+    }
+
+    private void gauge(MeterRegistry registry, String name, String meter, String description, ToIntFunction<PoolMetrics> metric) {
+        Gauge.builder(meter, this, monitor -> monitor.metric(name, metric))
+                .description(description)
+                .tag("pool", name)
+                .register(registry);
+    }
+
+    private int metric(String name, ToIntFunction<PoolMetrics> metric) {
+        ConnectionPool pool = pools.get(name);
+        if (pool == null) {
+            return 0;
+        }
+        return pool.getMetrics()
+                .map(metric::applyAsInt)
+                .orElse(0);
+    }
+}
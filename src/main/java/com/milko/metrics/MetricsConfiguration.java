@@ -0,0 +1,31 @@
+package com.milko.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+
+@Factory
+public class MetricsConfiguration {
+    static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    @Singleton
+    MeterFilter latencyPercentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().startsWith(HTTP_SERVER_REQUESTS)
+                        || id.getName().startsWith(RepositoryMetricsInterceptor.QUERY_TIMER)
+                        || id.getName().equals(ConnectionPoolMonitor.ACQUIRE_TIMER)) {
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(0.5, 0.99, 0.999)
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.milko.metrics;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every method of the annotated repository as {@code repository.query} and records the number of rows
+ * it returned as {@code repository.query.rows}, tagged with the repository name given here and the method.
+ * Interface default methods are not recorded, since the query methods they delegate to already are.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface RepositoryMetrics {
+    String value();
+}
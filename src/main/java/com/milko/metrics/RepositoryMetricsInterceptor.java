@@ -0,0 +1,116 @@
+package com.milko.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Singleton
+@RequiredArgsConstructor
+@InterceptorBean(RepositoryMetrics.class)
+public class RepositoryMetricsInterceptor implements MethodInterceptor<Object, Object> {
+    public static final String QUERY_TIMER = "repository.query";
+    public static final String QUERY_ROWS = "repository.query.rows";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> rows = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod<?, ?>, Boolean> defaultMethods = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (isDefaultMethod(context)) {
+            return context.proceed();
+        }
+        String repository = context.stringValue(RepositoryMetrics.class)
+                .orElse(context.getDeclaringType().getSimpleName());
+        String method = context.getMethodName();
+
+        Object result = null;
+        boolean completed = false;
+        long start = System.nanoTime();
+        try {
+            result = context.proceed();
+            completed = true;
+        } finally {
+            if (!completed) {
+                record(repository, method, "error", System.nanoTime() - start, 0);
+            }
+        }
+
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicLong count = new AtomicLong();
+                return flux.doOnNext(row -> count.incrementAndGet())
+                        .doFinally(signal -> record(repository, method, outcome(signal), System.nanoTime() - subscribed, count.get()));
+            });
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicLong count = new AtomicLong();
+                return mono.doOnNext(row -> count.incrementAndGet())
+                        .doFinally(signal -> record(repository, method, outcome(signal), System.nanoTime() - subscribed, count.get()));
+            });
+        }
+        record(repository, method, "success", System.nanoTime() - start, rowCount(result));
+        return result;
+    }
+
+    private void record(String repository, String method, String outcome, long nanos, long rowCount) {
+        MeterKey key = new MeterKey(repository, method, outcome);
+        timers.computeIfAbsent(key, k -> Timer.builder(QUERY_TIMER)
+                        .description("Repository method latency")
+                        .tags("repository", k.repository(), "method", k.method(), "outcome", k.outcome())
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        rows.computeIfAbsent(key, k -> DistributionSummary.builder(QUERY_ROWS)
+                        .description("Rows returned per repository call")
+                        .baseUnit("rows")
+                        .tags("repository", k.repository(), "method", k.method(), "outcome", k.outcome())
+                        .register(meterRegistry))
+                .record(rowCount);
+    }
+
+    private boolean isDefaultMethod(MethodInvocationContext<Object, Object> context) {
+        return defaultMethods.computeIfAbsent(context.getExecutableMethod(),
+                method -> method.getTargetMethod().isDefault());
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private record MeterKey(String repository, String method, String outcome) {
+    }
+}
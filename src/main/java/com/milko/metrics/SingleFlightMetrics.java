@@ -0,0 +1,31 @@
+package com.milko.metrics;
+
+import com.milko.service.loader.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+@Singleton
+@RequiredArgsConstructor
+public class SingleFlightMetrics implements MeterBinder {
+    private final SingleFlight singleFlight;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.requests", singleFlight, SingleFlight::getRequests)
+                .description("Lookups routed through single-flight")
+                .register(registry);
+        FunctionCounter.builder("singleflight.executions", singleFlight, SingleFlight::getExecutions)
+                .description("Lookups that reached the repository")
+                .register(registry);
+        Gauge.builder("singleflight.in.flight", singleFlight, SingleFlight::getInFlight)
+                .description("Distinct keys currently being loaded")
+                .register(registry);
+        Gauge.builder("singleflight.coalescing.ratio", singleFlight, SingleFlight::getCoalescingRatio)
+                .description("Share of lookups served by an execution already in flight")
+                .register(registry);
+    }
+}
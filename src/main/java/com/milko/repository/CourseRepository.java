@@ -2,41 +2,43 @@ package com.milko.repository;
 
 
 import com.milko.dto.records.StudentCoursesView;
+import com.milko.dto.records.TeacherAssignmentResult;
+import com.milko.metrics.RepositoryMetrics;
 import com.milko.model.Course;
+import com.milko.repository.sql.CourseSql;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.TypeDef;
+import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
 import lombok.NonNull;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
-import java.util.List;
-
 @R2dbcRepository(dialect = Dialect.POSTGRES)
+@RepositoryMetrics("courses")
 public interface CourseRepository extends ReactorCrudRepository<Course, Long> {
-    @Query("""
-            SELECT * FROM courses c
-            INNER JOIN course_student cs ON cs.course_id = c.id
-            WHERE cs.student_id = :studentId
-            """)
+    @Query(CourseSql.FIND_ALL_AFTER_ID)
+    Flux<Course> findAllAfterId(@NonNull Long after, int limit);
+
+    @Query(CourseSql.FIND_ALL_BY_STUDENT_ID)
     Flux<Course> findAllByStudentId(@NonNull Long studentId);
 
-    @Query("""
-            SELECT * FROM courses c
-            WHERE c.teacher_id = :teacherId
-            """)
+    @Query(CourseSql.FIND_ALL_BY_TEACHER_ID)
     Flux<Course> findAllByTeacherId(@NonNull Long teacherId);
 
-    @Query("""
-            SELECT s.id AS student_id,
-                   c.id as course_id,
-                   c.title as course_title,
-                   c.teacher_id as course_teacher_id
-            FROM courses c
-            INNER JOIN course_student cs ON c.id = cs.course_id
-            INNER JOIN students s ON cs.student_id = s.id
-            WHERE s.id IN (:studentsIdList)
-            """)
-    Flux<StudentCoursesView> findAllByStudentsIdList(@NonNull List<Long> studentsIdList);
+    @Query(CourseSql.FIND_ALL_BY_STUDENT_ID_ARRAY)
+    Flux<StudentCoursesView> findAllByStudentIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] studentIds);
+
+    @Query(CourseSql.FIND_GRAPH_JSON_BY_ID)
+    Mono<String> findGraphJsonById(@NonNull Long id);
+
+    @Query(CourseSql.PATCH_GRAPH_JSON_BY_ID)
+    Mono<String> patchGraphJsonById(@NonNull Long id, @Nullable String title);
+
+    @Query(CourseSql.ASSIGN_TEACHER)
+    Mono<TeacherAssignmentResult> assignTeacher(@NonNull Long courseId, @NonNull Long teacherId);
 }
@@ -1,10 +1,29 @@
 package com.milko.repository;
 
+import com.milko.dto.records.EnrollmentItemView;
+import com.milko.dto.records.EnrollmentResult;
+import com.milko.metrics.RepositoryMetrics;
 import com.milko.model.CourseStudent;
+import com.milko.repository.sql.CourseStudentSql;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.TypeDef;
+import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import lombok.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @R2dbcRepository(dialect = Dialect.POSTGRES)
+@RepositoryMetrics("course_student")
 public interface CourseStudentRepository extends ReactorCrudRepository<CourseStudent, Long> {
+    @Query(CourseStudentSql.ENROLL)
+    Mono<EnrollmentResult> enroll(@NonNull Long studentId, @NonNull Long courseId);
+
+    @Query(CourseStudentSql.ENROLL_STUDENTS_IN_COURSE)
+    Flux<EnrollmentItemView> enrollStudentsInCourse(@NonNull Long courseId, @NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] studentIds);
+
+    @Query(CourseStudentSql.ENROLL_STUDENT_IN_COURSES)
+    Flux<EnrollmentItemView> enrollStudentInCourses(@NonNull Long studentId, @NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] courseIds);
 }
@@ -1,7 +1,13 @@
 package com.milko.repository;
 
+import com.milko.dto.records.TeacherAssignmentResult;
+import com.milko.metrics.RepositoryMetrics;
 import com.milko.model.Department;
+import com.milko.repository.sql.DepartmentSql;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.TypeDef;
+import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
@@ -9,23 +15,22 @@ import lombok.NonNull;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @R2dbcRepository(dialect = Dialect.POSTGRES)
+@RepositoryMetrics("departments")
 public interface DepartmentRepository extends ReactorCrudRepository<Department, Long> {
 
-    @Query("""
-                SELECT *
-                FROM departments d
-                WHERE d.head_of_department_id = :headOfDepartmentId
-            """)
+    @Query(DepartmentSql.FIND_ALL_AFTER_ID)
+    Flux<Department> findAllAfterId(@NonNull Long after, int limit);
+
+    @Query(DepartmentSql.FIND_BY_HEAD_OF_DEPARTMENT_ID)
     Mono<Department> findByHeadOfDepartmentId(@NonNull Long headOfDepartmentId);
 
-    @Query("""
-                SELECT DISTINCT d.id, d.name, d.head_of_department_id
-                FROM departments d
-                WHERE d.head_of_department_id IN (:headOfDepartmentIds)
-            """)
-    Flux<Department> findAllByHeadOfDepartmentIds(@NonNull List<Long> headOfDepartmentIds);
+    @Query(DepartmentSql.FIND_ALL_BY_HEAD_OF_DEPARTMENT_ID_ARRAY)
+    Flux<Department> findAllByHeadOfDepartmentIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] headOfDepartmentIds);
+
+    @Query(DepartmentSql.PATCH_BY_ID)
+    Mono<Department> patchById(@NonNull Long id, @Nullable String name);
 
+    @Query(DepartmentSql.ASSIGN_HEAD)
+    Mono<TeacherAssignmentResult> assignHead(@NonNull Long departmentId, @NonNull Long teacherId);
 }
@@ -0,0 +1,46 @@
+package com.milko.repository;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Splits an id list into {@code repository.id-chunk-size} sized {@code = ANY(:ids)} queries.
+ */
+@Slf4j
+@Singleton
+public class IdChunks {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+
+    public IdChunks(@Value("${repository.id-chunk-size:" + DEFAULT_CHUNK_SIZE + "}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        log.info("in IdChunks, chunkSize = {}", chunkSize);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> Flux<T> query(List<Long> ids, Function<Long[], Flux<T>> query) {
+        Long[] distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+        if (distinctIds.length == 0) {
+            return Flux.empty();
+        }
+        if (distinctIds.length <= chunkSize) {
+            return query.apply(distinctIds);
+        }
+        return Flux.range(0, (distinctIds.length + chunkSize - 1) / chunkSize)
+                .concatMap(chunk -> query.apply(Arrays.copyOfRange(distinctIds,
+                        chunk * chunkSize, Math.min(distinctIds.length, (chunk + 1) * chunkSize))));
+    }
+}
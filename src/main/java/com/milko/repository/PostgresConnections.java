@@ -0,0 +1,38 @@
+package com.milko.repository;
+
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+
+import java.util.Optional;
+
+public final class PostgresConnections {
+
+    private PostgresConnections() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ConnectionFactory unpooled(ConnectionFactory connectionFactory) {
+        ConnectionFactory current = connectionFactory;
+        while (current instanceof Wrapped<?> wrapped) {
+            current = ((Wrapped<ConnectionFactory>) wrapped).unwrap();
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Optional<PostgresqlConnection> unwrap(Connection connection) {
+        Object current = connection;
+        while (true) {
+            if (current instanceof PostgresqlConnection postgresqlConnection) {
+                return Optional.of(postgresqlConnection);
+            }
+            if (current instanceof Wrapped<?> wrapped) {
+                current = ((Wrapped<Object>) wrapped).unwrap();
+                continue;
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -1,36 +1,35 @@
 package com.milko.repository;
 
 import com.milko.dto.records.CourseStudentsView;
+import com.milko.metrics.RepositoryMetrics;
 import com.milko.model.Student;
+import com.milko.repository.sql.StudentSql;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.TypeDef;
+import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
 import lombok.NonNull;
 import reactor.core.publisher.Flux;
-
-import java.util.List;
+import reactor.core.publisher.Mono;
 
 @R2dbcRepository(dialect = Dialect.POSTGRES)
+@RepositoryMetrics("students")
 public interface StudentRepository extends ReactorCrudRepository<Student, Long> {
-    @Query("""
-                SELECT * FROM students s
-                INNER JOIN course_student cs ON s.id = cs.student_id
-                INNER JOIN courses c ON cs.course_id = c.id
-                WHERE c.id = :courseId
-            """)
+    @Query(StudentSql.FIND_ALL_AFTER_ID)
+    Flux<Student> findAllAfterId(@NonNull Long after, int limit);
+
+    @Query(StudentSql.FIND_ALL_BY_COURSE_ID)
     Flux<Student> findAllByCourseId(@NonNull Long courseId);
 
-    @Query("""
-            SELECT c.id AS course_id,
-                   s.id as student_id,
-                   s.name as student_name,
-                   s.email as student_email
-            FROM students s
-            INNER JOIN course_student cs ON s.id = cs.student_id
-            INNER JOIN courses c ON cs.course_id = c.id
-            WHERE c.id IN (:coursesIdList)
-            """)
-    Flux<CourseStudentsView> findAllByCoursesIdList(@NonNull List<Long> coursesIdList);
+    @Query(StudentSql.FIND_ALL_BY_COURSE_ID_ARRAY)
+    Flux<CourseStudentsView> findAllByCourseIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] courseIds);
+
+    @Query(StudentSql.FIND_GRAPH_JSON_BY_ID)
+    Mono<String> findGraphJsonById(@NonNull Long id);
 
+    @Query(StudentSql.PATCH_GRAPH_JSON_BY_ID)
+    Mono<String> patchGraphJsonById(@NonNull Long id, @Nullable String name, @Nullable String email);
 }
@@ -1,7 +1,12 @@
 package com.milko.repository;
 
+import com.milko.metrics.RepositoryMetrics;
 import com.milko.model.Teacher;
+import com.milko.repository.sql.TeacherSql;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.TypeDef;
+import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
 import io.micronaut.data.repository.reactive.ReactorCrudRepository;
@@ -9,37 +14,30 @@ import lombok.NonNull;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @R2dbcRepository(dialect = Dialect.POSTGRES)
+@RepositoryMetrics("teachers")
 public interface TeacherRepository extends ReactorCrudRepository<Teacher, Long> {
-    @Query("""
-            SELECT * FROM teachers t
-            JOIN courses c ON t.id = c.teacher_id
-            WHERE c.id = :courseId
-            """)
+    @Query(TeacherSql.FIND_ALL_AFTER_ID)
+    Flux<Teacher> findAllAfterId(@NonNull Long after, int limit);
+
+    @Query(TeacherSql.FIND_ALL_BY_ID_ARRAY)
+    Flux<Teacher> findAllByIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] ids);
+
+    @Query(TeacherSql.FIND_BY_COURSE_ID)
     Mono<Teacher> findByCourseId(@NonNull Long courseId);
 
-    @Query("""
-            SELECT DISTINCT t.id, t.name
-            FROM teachers t
-            JOIN courses c ON t.id = c.teacher_id
-            WHERE c.id IN (:coursesIdList)
-            """)
-    Flux<Teacher> findAllByCoursesIdList(@NonNull  List<Long> coursesIdList);
-
-    @Query("""
-            SELECT * FROM teachers t
-            JOIN departments d ON t.id = d.head_of_department_id
-            WHERE d.id = :departmentId
-            """)
+    @Query(TeacherSql.FIND_ALL_BY_COURSE_ID_ARRAY)
+    Flux<Teacher> findAllByCourseIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] courseIds);
+
+    @Query(TeacherSql.FIND_BY_DEPARTMENT_ID)
     Mono<Teacher> findByDepartmentId(@NonNull Long departmentId);
 
-    @Query("""
-            SELECT DISTINCT t.id, t.name
-            FROM teachers t
-            JOIN departments d ON t.id = d.head_of_department_id
-            WHERE d.id IN (:departmentsIdList)
-            """)
-    Flux<Teacher> findAllByDepartmentsIdList(@NonNull List<Long> departmentsIdList);
+    @Query(TeacherSql.FIND_ALL_BY_DEPARTMENT_ID_ARRAY)
+    Flux<Teacher> findAllByDepartmentIdArray(@NonNull @TypeDef(type = DataType.LONG_ARRAY) Long[] departmentIds);
+
+    @Query(TeacherSql.FIND_GRAPH_JSON_BY_ID)
+    Mono<String> findGraphJsonById(@NonNull Long id);
+
+    @Query(TeacherSql.PATCH_GRAPH_JSON_BY_ID)
+    Mono<String> patchGraphJsonById(@NonNull Long id, @Nullable String name);
 }
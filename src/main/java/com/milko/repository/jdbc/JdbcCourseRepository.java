@@ -0,0 +1,82 @@
+package com.milko.repository.jdbc;
+
+import com.milko.dto.records.StudentCoursesView;
+import com.milko.dto.records.TeacherAssignmentResult;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Course;
+import com.milko.repository.sql.CourseSql;
+import com.milko.repository.sql.NamedParameters;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+@RepositoryMetrics("courses")
+@Requires(property = "service.execution", value = "jdbc")
+public class JdbcCourseRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.positional(CourseSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_ALL_BY_STUDENT_ID = NamedParameters.positional(CourseSql.FIND_ALL_BY_STUDENT_ID);
+    private static final String FIND_ALL_BY_STUDENT_ID_ARRAY = NamedParameters.positional(CourseSql.FIND_ALL_BY_STUDENT_ID_ARRAY);
+    private static final String FIND_GRAPH_JSON_BY_ID = NamedParameters.positional(CourseSql.FIND_GRAPH_JSON_BY_ID);
+    private static final String PATCH_GRAPH_JSON_BY_ID = NamedParameters.positional(CourseSql.PATCH_GRAPH_JSON_BY_ID);
+    private static final String ASSIGN_TEACHER = NamedParameters.positional(CourseSql.ASSIGN_TEACHER);
+
+    public Optional<Course> findById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.one(connection, "SELECT id, title, teacher_id FROM courses WHERE id = ?", this::map, id);
+    }
+
+    public List<Course> findAllAfterId(Connection connection, Long after, int limit) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_AFTER_ID, this::map, after, limit);
+    }
+
+    public List<Course> findAllByStudentId(Connection connection, Long studentId) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_BY_STUDENT_ID, this::map, studentId);
+    }
+
+    public List<StudentCoursesView> findAllByStudentIds(Connection connection, Long[] studentIds) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_BY_STUDENT_ID_ARRAY, resultSet -> new StudentCoursesView(
+                JdbcQueries.getLong(resultSet, "student_id"),
+                JdbcQueries.getLong(resultSet, "course_id"),
+                resultSet.getString("course_title"),
+                JdbcQueries.getLong(resultSet, "course_teacher_id")), (Object) studentIds);
+    }
+
+    public Optional<String> findGraphJsonById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.one(connection, FIND_GRAPH_JSON_BY_ID, resultSet -> resultSet.getString(1), id);
+    }
+
+    public Optional<String> patchGraphJsonById(Connection connection, Long id, String title) throws SQLException {
+        return JdbcQueries.one(connection, PATCH_GRAPH_JSON_BY_ID, resultSet -> resultSet.getString(1), title, id);
+    }
+
+    public Course save(Connection connection, Course course) throws SQLException {
+        Long id = JdbcQueries.one(connection, "INSERT INTO courses (title, teacher_id) VALUES (?, ?) RETURNING id",
+                resultSet -> resultSet.getLong(1), course.getTitle(), course.getTeacherId()).orElseThrow();
+        course.setId(id);
+        return course;
+    }
+
+    public TeacherAssignmentResult assignTeacher(Connection connection, Long courseId, Long teacherId) throws SQLException {
+        return JdbcQueries.one(connection, ASSIGN_TEACHER, resultSet -> new TeacherAssignmentResult(
+                resultSet.getBoolean("target_exists"),
+                resultSet.getBoolean("teacher_exists"),
+                JdbcQueries.getLong(resultSet, "previous_teacher_id")), courseId, teacherId).orElseThrow();
+    }
+
+    public long deleteById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.update(connection, "DELETE FROM courses WHERE id = ?", id);
+    }
+
+    private Course map(ResultSet resultSet) throws SQLException {
+        Course course = new Course();
+        course.setId(resultSet.getLong("id"));
+        course.setTitle(resultSet.getString("title"));
+        course.setTeacherId(JdbcQueries.getLong(resultSet, "teacher_id"));
+        return course;
+    }
+}
@@ -0,0 +1,45 @@
+package com.milko.repository.jdbc;
+
+import com.milko.dto.records.EnrollmentItemView;
+import com.milko.dto.records.EnrollmentResult;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.repository.sql.CourseStudentSql;
+import com.milko.repository.sql.NamedParameters;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("course_student")
+@Requires(property = "service.execution", value = "jdbc")
+public class JdbcCourseStudentRepository {
+    private static final String ENROLL = NamedParameters.positional(CourseStudentSql.ENROLL);
+    private static final String ENROLL_STUDENTS_IN_COURSE = NamedParameters.positional(CourseStudentSql.ENROLL_STUDENTS_IN_COURSE);
+    private static final String ENROLL_STUDENT_IN_COURSES = NamedParameters.positional(CourseStudentSql.ENROLL_STUDENT_IN_COURSES);
+
+    public EnrollmentResult enroll(Connection connection, Long studentId, Long courseId) throws SQLException {
+        return JdbcQueries.one(connection, ENROLL, resultSet -> new EnrollmentResult(
+                resultSet.getBoolean("student_exists"),
+                resultSet.getBoolean("course_exists"),
+                resultSet.getBoolean("inserted")), studentId, courseId).orElseThrow();
+    }
+
+    public List<EnrollmentItemView> enrollStudentsInCourse(Connection connection, Long courseId, Long[] studentIds) throws SQLException {
+        return JdbcQueries.list(connection, ENROLL_STUDENTS_IN_COURSE, this::mapItem, studentIds, courseId);
+    }
+
+    public List<EnrollmentItemView> enrollStudentInCourses(Connection connection, Long studentId, Long[] courseIds) throws SQLException {
+        return JdbcQueries.list(connection, ENROLL_STUDENT_IN_COURSES, this::mapItem, courseIds, studentId);
+    }
+
+    private EnrollmentItemView mapItem(ResultSet resultSet) throws SQLException {
+        return new EnrollmentItemView(
+                resultSet.getLong("id"),
+                resultSet.getString("status"),
+                resultSet.getBoolean("target_exists"));
+    }
+}
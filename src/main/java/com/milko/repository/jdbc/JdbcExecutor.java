@@ -0,0 +1,82 @@
+package com.milko.repository.jdbc;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs blocking JDBC work on a virtual thread per unit of work, so callers keep a reactive contract
+ * while the connection is held by a cheap thread instead of a Netty event loop.
+ */
+@Slf4j
+@Singleton
+@Requires(property = "service.execution", value = "jdbc")
+public class JdbcExecutor {
+    private static final String SNAPSHOT = "SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY";
+
+    private final DataSource dataSource;
+    private final Scheduler scheduler;
+
+    public JdbcExecutor(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.scheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "jdbc-virtual");
+    }
+
+    /**
+     * Each statement commits on its own; use {@link #transaction} when several writes must be atomic.
+     */
+    public <T> Mono<T> autocommit(JdbcWork<T> work) {
+        return Mono.fromCallable(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return work.execute(connection);
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    public <T> Mono<T> transaction(JdbcWork<T> work) {
+        return inTransaction(work);
+    }
+
+    public <T> Mono<T> snapshot(JdbcWork<T> work) {
+        return inTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(SNAPSHOT);
+            }
+            return work.execute(connection);
+        });
+    }
+
+    private <T> Mono<T> inTransaction(JdbcWork<T> work) {
+        return Mono.fromCallable(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    T result = work.execute(connection);
+                    connection.commit();
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    @PreDestroy
+    void close() {
+        log.info("in close, disposing virtual thread scheduler");
+        scheduler.dispose();
+    }
+}
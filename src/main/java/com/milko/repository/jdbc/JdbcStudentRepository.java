@@ -0,0 +1,68 @@
+package com.milko.repository.jdbc;
+
+import com.milko.dto.records.CourseStudentsView;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Student;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.StudentSql;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+@RepositoryMetrics("students")
+@Requires(property = "service.execution", value = "jdbc")
+public class JdbcStudentRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.positional(StudentSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_ALL_BY_COURSE_ID_ARRAY = NamedParameters.positional(StudentSql.FIND_ALL_BY_COURSE_ID_ARRAY);
+    private static final String FIND_GRAPH_JSON_BY_ID = NamedParameters.positional(StudentSql.FIND_GRAPH_JSON_BY_ID);
+    private static final String PATCH_GRAPH_JSON_BY_ID = NamedParameters.positional(StudentSql.PATCH_GRAPH_JSON_BY_ID);
+
+    public Optional<Student> findById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.one(connection, "SELECT id, name, email FROM students WHERE id = ?", this::map, id);
+    }
+
+    public List<Student> findAllAfterId(Connection connection, Long after, int limit) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_AFTER_ID, this::map, after, limit);
+    }
+
+    public List<CourseStudentsView> findAllByCourseIds(Connection connection, Long[] courseIds) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_BY_COURSE_ID_ARRAY, resultSet -> new CourseStudentsView(
+                JdbcQueries.getLong(resultSet, "course_id"),
+                JdbcQueries.getLong(resultSet, "student_id"),
+                resultSet.getString("student_name"),
+                resultSet.getString("student_email")), (Object) courseIds);
+    }
+
+    public Optional<String> findGraphJsonById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.one(connection, FIND_GRAPH_JSON_BY_ID, resultSet -> resultSet.getString(1), id);
+    }
+
+    public Optional<String> patchGraphJsonById(Connection connection, Long id, String name, String email) throws SQLException {
+        return JdbcQueries.one(connection, PATCH_GRAPH_JSON_BY_ID, resultSet -> resultSet.getString(1), name, email, id);
+    }
+
+    public Student save(Connection connection, Student student) throws SQLException {
+        Long id = JdbcQueries.one(connection, "INSERT INTO students (name, email) VALUES (?, ?) RETURNING id",
+                resultSet -> resultSet.getLong(1), student.getName(), student.getEmail()).orElseThrow();
+        student.setId(id);
+        return student;
+    }
+
+    public long deleteById(Connection connection, Long id) throws SQLException {
+        return JdbcQueries.update(connection, "DELETE FROM students WHERE id = ?", id);
+    }
+
+    private Student map(ResultSet resultSet) throws SQLException {
+        Student student = new Student();
+        student.setId(resultSet.getLong("id"));
+        student.setName(resultSet.getString("name"));
+        student.setEmail(resultSet.getString("email"));
+        return student;
+    }
+}
@@ -0,0 +1,36 @@
+package com.milko.repository.jdbc;
+
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Teacher;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.TeacherSql;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("teachers")
+@Requires(property = "service.execution", value = "jdbc")
+public class JdbcTeacherRepository {
+    private static final String FIND_ALL_BY_ID_ARRAY = NamedParameters.positional(TeacherSql.FIND_ALL_BY_ID_ARRAY);
+    private static final String FIND_ALL_BY_COURSE_ID_ARRAY = NamedParameters.positional(TeacherSql.FIND_ALL_BY_COURSE_ID_ARRAY);
+
+    public List<Teacher> findAllByIds(Connection connection, Long[] ids) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_BY_ID_ARRAY, this::map, (Object) ids);
+    }
+
+    public List<Teacher> findAllByCourseIds(Connection connection, Long[] courseIds) throws SQLException {
+        return JdbcQueries.list(connection, FIND_ALL_BY_COURSE_ID_ARRAY, this::map, (Object) courseIds);
+    }
+
+    private Teacher map(ResultSet resultSet) throws SQLException {
+        Teacher teacher = new Teacher();
+        teacher.setId(resultSet.getLong("id"));
+        teacher.setName(resultSet.getString("name"));
+        return teacher;
+    }
+}
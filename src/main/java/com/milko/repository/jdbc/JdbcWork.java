@@ -0,0 +1,9 @@
+package com.milko.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface JdbcWork<T> {
+    T execute(Connection connection) throws SQLException;
+}
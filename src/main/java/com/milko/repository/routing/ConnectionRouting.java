@@ -0,0 +1,102 @@
+package com.milko.repository.routing;
+
+import com.milko.metrics.ConnectionPoolMonitor;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the default connection factory so that connections are taken from the datasource named in the
+ * subscriber's Reactor context: a caught-up replica for replica reads, otherwise the bulkhead datasource, otherwise
+ * the primary pool. Ordered after the pool instrumentation so the default pool is still timed.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class ConnectionRouting implements BeanCreatedEventListener<ConnectionFactory>, Ordered {
+    private final BeanLocator beanLocator;
+    private final ReplicaLsnTracker replicaLsnTracker;
+
+    @Override
+    public ConnectionFactory onCreated(BeanCreatedEvent<ConnectionFactory> event) {
+        if (!ConnectionPoolMonitor.DEFAULT_POOL.equals(event.getBeanIdentifier().getName())) {
+            return event.getBean();
+        }
+        log.info("in onCreated, routing connections of the default datasource by subscriber context");
+        return new RoutingConnectionFactory(event.getBean(), beanLocator, replicaLsnTracker);
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    @RequiredArgsConstructor
+    static final class RoutingConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable, Disposable {
+        private final ConnectionFactory primary;
+        private final BeanLocator beanLocator;
+        private final ReplicaLsnTracker replicaLsnTracker;
+        private final Map<String, ConnectionFactory> targets = new ConcurrentHashMap<>();
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.deferContextual(context -> Mono.from(select(context).create()));
+        }
+
+        private ConnectionFactory select(ContextView context) {
+            boolean replicaRead = context.<Long>getOrEmpty(DatasourceRouting.REPLICA_MIN_LSN_KEY)
+                    .map(replicaLsnTracker::canServe)
+                    .orElse(false);
+            if (replicaRead) {
+                return target(replicaLsnTracker.getDatasource());
+            }
+            return context.<String>getOrEmpty(DatasourceRouting.DATASOURCE_KEY)
+                    .map(this::target)
+                    .orElse(primary);
+        }
+
+        private ConnectionFactory target(String datasource) {
+            return targets.computeIfAbsent(datasource,
+                    name -> beanLocator.getBean(ConnectionFactory.class, Qualifiers.byName(name)));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return primary.getMetadata();
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return primary;
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return primary instanceof Closeable closeable ? closeable.close() : Mono.empty();
+        }
+
+        @Override
+        public void dispose() {
+            if (primary instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+}
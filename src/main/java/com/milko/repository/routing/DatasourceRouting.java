@@ -0,0 +1,12 @@
+package com.milko.repository.routing;
+
+public final class DatasourceRouting {
+    /** Reactor context key naming the R2DBC datasource a publisher should take connections from. */
+    public static final String DATASOURCE_KEY = "routing.datasource";
+    /** Reactor context key holding the WAL position a replica must have replayed to serve the read; 0 for any. */
+    public static final String REPLICA_MIN_LSN_KEY = "routing.replica.min-lsn";
+    public static final String READ_TOKEN_HEADER = "X-Read-Token";
+
+    private DatasourceRouting() {
+    }
+}
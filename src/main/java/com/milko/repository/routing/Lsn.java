@@ -0,0 +1,23 @@
+package com.milko.repository.routing;
+
+/**
+ * PostgreSQL {@code pg_lsn} values in their text form {@code XXXXXXXX/XXXXXXXX}, as 64-bit positions.
+ */
+public final class Lsn {
+
+    private Lsn() {
+    }
+
+    public static long parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash <= 0 || slash == text.length() - 1) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        long high = Long.parseLong(text.substring(0, slash), 16);
+        long low = Long.parseLong(text.substring(slash + 1), 16);
+        if (high < 0 || low < 0 || high > 0xFFFFFFFFL || low > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        return high << 32 | low;
+    }
+}
@@ -0,0 +1,114 @@
+package com.milko.repository.routing;
+
+import com.milko.config.ReplicaProperties;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Polls the replica for {@code pg_last_wal_replay_lsn()} so routing can decide, without a round trip per read,
+ * whether the replica has caught up with a client's read token. A replica that cannot be reached, or that reports
+ * no replay position because it is not a standby, serves no reads at all until a later poll sees it replaying.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class ReplicaLsnTracker implements ApplicationEventListener<StartupEvent> {
+    private static final String REPLAY_LSN = "SELECT CAST(pg_last_wal_replay_lsn() AS text)";
+    private static final long UNKNOWN = -1L;
+
+    private final ReplicaProperties properties;
+    private final BeanLocator beanLocator;
+    private volatile boolean available;
+    private volatile long replayedLsn = UNKNOWN;
+    private volatile ConnectionFactory replica;
+    private Disposable subscription;
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        log.info("in onApplicationEvent, tracking replica {} every {}", properties.getDatasource(), properties.getPollInterval());
+        subscription = Flux.interval(properties.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    /**
+     * Polls the replica once; exposed so the replica state can be refreshed without waiting for the next tick.
+     */
+    public Mono<Void> refresh() {
+        return Mono.defer(() -> poll(replica()))
+                .doOnNext(lsn -> {
+                    if (lsn == UNKNOWN) {
+                        markUnavailable("reports no replay position");
+                        return;
+                    }
+                    replayedLsn = lsn;
+                    available = true;
+                })
+                .onErrorResume(e -> {
+                    if (available) {
+                        log.warn("in refresh, replica {} unreachable, reading from primary", properties.getDatasource(), e);
+                    }
+                    available = false;
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public boolean canServe(long minLsn) {
+        if (!properties.isEnabled() || !available) {
+            return false;
+        }
+        return minLsn == 0 || replayedLsn >= minLsn;
+    }
+
+    public String getDatasource() {
+        return properties.getDatasource();
+    }
+
+    private void markUnavailable(String reason) {
+        if (available) {
+            log.warn("in refresh, replica {} {}, reading from primary", properties.getDatasource(), reason);
+        }
+        available = false;
+        replayedLsn = UNKNOWN;
+    }
+
+    private ConnectionFactory replica() {
+        if (replica == null) {
+            replica = beanLocator.getBean(ConnectionFactory.class, Qualifiers.byName(properties.getDatasource()));
+        }
+        return replica;
+    }
+
+    private Mono<Long> poll(ConnectionFactory replica) {
+        return Mono.usingWhen(replica.create(),
+                connection -> Mono.from(connection.createStatement(REPLAY_LSN).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> {
+                            String lsn = row.get(0, String.class);
+                            return lsn == null ? UNKNOWN : Lsn.parse(lsn);
+                        }))),
+                Connection::close);
+    }
+}
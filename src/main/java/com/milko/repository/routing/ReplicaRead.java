@@ -0,0 +1,22 @@
+package com.milko.repository.routing;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose R2DBC queries may run on the replica. When the current request carries
+ * an {@code X-Read-Token}, the replica is only used once it has replayed past that WAL position. Do not combine it
+ * with {@code EntityCache} reads: a cache hit never checks the token, and a lagging replica would refill an entry
+ * that a write just evicted, so cached reads stay on the primary.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface ReplicaRead {
+}
@@ -0,0 +1,61 @@
+package com.milko.repository.routing;
+
+import com.milko.config.ReplicaProperties;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ordered before {@code @Transactional}, whose interceptor takes the connection up front and would otherwise pick
+ * it without the replica key in context.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+@InterceptorBean(ReplicaRead.class)
+public class ReplicaReadInterceptor implements MethodInterceptor<Object, Object>, Ordered {
+    private final ReplicaProperties properties;
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!properties.isEnabled()) {
+            return context.proceed();
+        }
+        long minLsn = readToken();
+        Object result = context.proceed();
+        if (result instanceof Flux<?> flux) {
+            return flux.contextWrite(ctx -> ctx.put(DatasourceRouting.REPLICA_MIN_LSN_KEY, minLsn));
+        }
+        if (result instanceof Mono<?> mono) {
+            return mono.contextWrite(ctx -> ctx.put(DatasourceRouting.REPLICA_MIN_LSN_KEY, minLsn));
+        }
+        return result;
+    }
+
+    private static long readToken() {
+        return ServerRequestContext.currentRequest()
+                .flatMap(request -> request.getHeaders().getFirst(DatasourceRouting.READ_TOKEN_HEADER))
+                .map(token -> {
+                    try {
+                        return Lsn.parse(token);
+                    } catch (IllegalArgumentException e) {
+                        log.warn("in readToken, ignoring replica for malformed token {}", token);
+                        return Long.MAX_VALUE;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 10;
+    }
+}
@@ -0,0 +1,83 @@
+package com.milko.repository.sql;
+
+/**
+ * Course statements shared by the R2DBC, Vert.x and JDBC repositories, written with {@code :name} parameters.
+ */
+public final class CourseSql {
+    /**
+     * The JSON graph of the course row aliased {@code c}. The patch applies it to the {@code RETURNING} row rather than
+     * re-reading a view, because a data-modifying CTE's outer query still sees the table as it was before the update.
+     */
+    private static final String GRAPH_JSON = """
+            SELECT CAST(json_build_object(
+                       'id', c.id,
+                       'title', c.title,
+                       'teacher', (SELECT json_build_object('id', t.id, 'name', t.name)
+                                   FROM teachers t
+                                   WHERE t.id = c.teacher_id),
+                       'students', COALESCE((SELECT json_agg(json_build_object('id', s.id, 'name', s.name, 'email', s.email) ORDER BY s.id)
+                                             FROM course_student cs
+                                             INNER JOIN students s ON s.id = cs.student_id
+                                             WHERE cs.course_id = c.id), CAST('[]' AS json))
+                   ) AS text)
+            """;
+
+    public static final String FIND_ALL_AFTER_ID = """
+            SELECT c.id, c.title, c.teacher_id FROM courses c
+            WHERE c.id > :after
+            ORDER BY c.id
+            LIMIT :limit
+            """;
+
+    public static final String FIND_ALL_BY_STUDENT_ID = """
+            SELECT c.id, c.title, c.teacher_id FROM courses c
+            INNER JOIN course_student cs ON cs.course_id = c.id
+            WHERE cs.student_id = :studentId
+            """;
+
+    public static final String FIND_ALL_BY_TEACHER_ID = """
+            SELECT c.id, c.title, c.teacher_id FROM courses c
+            WHERE c.teacher_id = :teacherId
+            """;
+
+    public static final String FIND_ALL_BY_STUDENT_ID_ARRAY = """
+            SELECT cs.student_id, c.id AS course_id, c.title AS course_title, c.teacher_id AS course_teacher_id
+            FROM courses c
+            INNER JOIN course_student cs ON c.id = cs.course_id
+            WHERE cs.student_id = ANY(:studentIds)
+            """;
+
+    public static final String FIND_GRAPH_JSON_BY_ID = GRAPH_JSON + """
+            FROM courses c
+            WHERE c.id = :id
+            """;
+
+    public static final String PATCH_GRAPH_JSON_BY_ID = """
+            WITH c AS (
+                UPDATE courses
+                SET title = COALESCE(:title, title)
+                WHERE id = :id
+                RETURNING *
+            )
+            """ + GRAPH_JSON + """
+            FROM c
+            """;
+
+    public static final String ASSIGN_TEACHER = """
+            WITH c AS (SELECT id, teacher_id FROM courses WHERE id = :courseId FOR UPDATE),
+                 t AS (SELECT id FROM teachers WHERE id = :teacherId),
+                 upd AS (
+                     UPDATE courses
+                     SET teacher_id = t.id
+                     FROM c CROSS JOIN t
+                     WHERE courses.id = c.id
+                     RETURNING courses.id
+                 )
+            SELECT EXISTS (SELECT 1 FROM c) AS target_exists,
+                   EXISTS (SELECT 1 FROM t) AS teacher_exists,
+                   (SELECT teacher_id FROM c) AS previous_teacher_id
+            """;
+
+    private CourseSql() {
+    }
+}
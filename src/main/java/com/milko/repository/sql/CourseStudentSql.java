@@ -0,0 +1,65 @@
+package com.milko.repository.sql;
+
+/**
+ * Enrollment statements shared by the R2DBC and JDBC repositories, written with {@code :name} parameters.
+ */
+public final class CourseStudentSql {
+    public static final String ENROLL = """
+            WITH s AS (SELECT id FROM students WHERE id = :studentId),
+                 c AS (SELECT id FROM courses WHERE id = :courseId),
+                 ins AS (
+                     INSERT INTO course_student (course_id, student_id)
+                     SELECT c.id, s.id FROM s CROSS JOIN c
+                     ON CONFLICT (course_id, student_id) DO NOTHING
+                     RETURNING id
+                 )
+            SELECT EXISTS (SELECT 1 FROM s) AS student_exists,
+                   EXISTS (SELECT 1 FROM c) AS course_exists,
+                   EXISTS (SELECT 1 FROM ins) AS inserted
+            """;
+
+    public static final String ENROLL_STUDENTS_IN_COURSE = """
+            WITH requested AS (SELECT DISTINCT unnest(:studentIds) AS id),
+                 target AS (SELECT id FROM courses WHERE id = :courseId),
+                 valid AS (SELECT r.id FROM requested r JOIN students s ON s.id = r.id),
+                 ins AS (
+                     INSERT INTO course_student (course_id, student_id)
+                     SELECT t.id, v.id FROM target t CROSS JOIN valid v
+                     ON CONFLICT (course_id, student_id) DO NOTHING
+                     RETURNING student_id
+                 )
+            SELECT r.id,
+                   CASE WHEN ins.student_id IS NOT NULL THEN 'ENROLLED'
+                        WHEN v.id IS NOT NULL THEN 'ALREADY_ENROLLED'
+                        ELSE 'NOT_FOUND' END AS status,
+                   EXISTS (SELECT 1 FROM target) AS target_exists
+            FROM requested r
+            LEFT JOIN valid v ON v.id = r.id
+            LEFT JOIN ins ON ins.student_id = r.id
+            ORDER BY r.id
+            """;
+
+    public static final String ENROLL_STUDENT_IN_COURSES = """
+            WITH requested AS (SELECT DISTINCT unnest(:courseIds) AS id),
+                 target AS (SELECT id FROM students WHERE id = :studentId),
+                 valid AS (SELECT r.id FROM requested r JOIN courses c ON c.id = r.id),
+                 ins AS (
+                     INSERT INTO course_student (course_id, student_id)
+                     SELECT v.id, t.id FROM target t CROSS JOIN valid v
+                     ON CONFLICT (course_id, student_id) DO NOTHING
+                     RETURNING course_id
+                 )
+            SELECT r.id,
+                   CASE WHEN ins.course_id IS NOT NULL THEN 'ENROLLED'
+                        WHEN v.id IS NOT NULL THEN 'ALREADY_ENROLLED'
+                        ELSE 'NOT_FOUND' END AS status,
+                   EXISTS (SELECT 1 FROM target) AS target_exists
+            FROM requested r
+            LEFT JOIN valid v ON v.id = r.id
+            LEFT JOIN ins ON ins.course_id = r.id
+            ORDER BY r.id
+            """;
+
+    private CourseStudentSql() {
+    }
+}
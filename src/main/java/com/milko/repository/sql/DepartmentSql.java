@@ -0,0 +1,55 @@
+package com.milko.repository.sql;
+
+/**
+ * Department statements shared by the R2DBC and Vert.x repositories, written with {@code :name} parameters.
+ */
+public final class DepartmentSql {
+    public static final String FIND_ALL_AFTER_ID = """
+            SELECT d.id, d.name, d.head_of_department_id
+            FROM departments d
+            WHERE d.id > :after
+            ORDER BY d.id
+            LIMIT :limit
+            """;
+
+    public static final String FIND_BY_HEAD_OF_DEPARTMENT_ID = """
+            SELECT d.id, d.name, d.head_of_department_id
+            FROM departments d
+            WHERE d.head_of_department_id = :headOfDepartmentId
+            """;
+
+    public static final String FIND_ALL_BY_HEAD_OF_DEPARTMENT_ID_ARRAY = """
+            SELECT DISTINCT d.id, d.name, d.head_of_department_id
+            FROM departments d
+            WHERE d.head_of_department_id = ANY(:headOfDepartmentIds)
+            """;
+
+    public static final String PATCH_BY_ID = """
+            WITH d AS (
+                UPDATE departments
+                SET name = COALESCE(:name, name)
+                WHERE id = :id
+                RETURNING *
+            )
+            SELECT d.id, d.name, d.head_of_department_id
+            FROM d
+            """;
+
+    public static final String ASSIGN_HEAD = """
+            WITH d AS (SELECT id, head_of_department_id FROM departments WHERE id = :departmentId FOR UPDATE),
+                 t AS (SELECT id FROM teachers WHERE id = :teacherId),
+                 upd AS (
+                     UPDATE departments
+                     SET head_of_department_id = t.id
+                     FROM d CROSS JOIN t
+                     WHERE departments.id = d.id
+                     RETURNING departments.id
+                 )
+            SELECT EXISTS (SELECT 1 FROM d) AS target_exists,
+                   EXISTS (SELECT 1 FROM t) AS teacher_exists,
+                   (SELECT head_of_department_id FROM d) AS previous_teacher_id
+            """;
+
+    private DepartmentSql() {
+    }
+}
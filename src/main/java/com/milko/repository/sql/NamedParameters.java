@@ -0,0 +1,45 @@
+package com.milko.repository.sql;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites the {@code :name} parameters of the shared SQL constants for drivers without named parameters:
+ * {@code $n} numbered by first appearance for the Vert.x client, or JDBC {@code ?} placeholders.
+ */
+public final class NamedParameters {
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):([A-Za-z_][A-Za-z0-9_]*)");
+
+    private NamedParameters() {
+    }
+
+    public static String numbered(String sql) {
+        Map<String, Integer> positions = new HashMap<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            int position = positions.computeIfAbsent(matcher.group(1), name -> positions.size() + 1);
+            matcher.appendReplacement(result, "\\$" + position);
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    public static String positional(String sql) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            if (!names.add(matcher.group(1))) {
+                throw new IllegalArgumentException("parameter :" + matcher.group(1) + " is bound more than once");
+            }
+            matcher.appendReplacement(result, "?");
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.milko.repository.sql;
+
+/**
+ * Student statements shared by the R2DBC, Vert.x and JDBC repositories, written with {@code :name} parameters.
+ */
+public final class StudentSql {
+    /**
+     * The JSON graph of the student row aliased {@code s}, read from the table by the find and from the updated row by
+     * the patch.
+     */
+    private static final String GRAPH_JSON = """
+            SELECT CAST(json_build_object(
+                       'id', s.id,
+                       'name', s.name,
+                       'email', s.email,
+                       'courses', COALESCE((SELECT json_agg(json_build_object('id', c.id, 'title', c.title) ORDER BY c.id)
+                                            FROM course_student cs
+                                            INNER JOIN courses c ON c.id = cs.course_id
+                                            WHERE cs.student_id = s.id), CAST('[]' AS json))
+                   ) AS text)
+            """;
+
+    public static final String FIND_ALL_AFTER_ID = """
+            SELECT s.id, s.name, s.email FROM students s
+            WHERE s.id > :after
+            ORDER BY s.id
+            LIMIT :limit
+            """;
+
+    public static final String FIND_ALL_BY_COURSE_ID = """
+            SELECT s.id, s.name, s.email FROM students s
+            INNER JOIN course_student cs ON s.id = cs.student_id
+            WHERE cs.course_id = :courseId
+            """;
+
+    public static final String FIND_ALL_BY_COURSE_ID_ARRAY = """
+            SELECT cs.course_id, s.id AS student_id, s.name AS student_name, s.email AS student_email
+            FROM students s
+            INNER JOIN course_student cs ON s.id = cs.student_id
+            WHERE cs.course_id = ANY(:courseIds)
+            """;
+
+    public static final String FIND_GRAPH_JSON_BY_ID = GRAPH_JSON + """
+            FROM students s
+            WHERE s.id = :id
+            """;
+
+    public static final String PATCH_GRAPH_JSON_BY_ID = """
+            WITH s AS (
+                UPDATE students
+                SET name = COALESCE(:name, name),
+                    email = COALESCE(:email, email)
+                WHERE id = :id
+                RETURNING *
+            )
+            """ + GRAPH_JSON + """
+            FROM s
+            """;
+
+    private StudentSql() {
+    }
+}
@@ -0,0 +1,80 @@
+package com.milko.repository.sql;
+
+/**
+ * Teacher statements shared by the R2DBC, Vert.x and JDBC repositories, written with {@code :name} parameters.
+ */
+public final class TeacherSql {
+    /**
+     * The JSON graph of the teacher row aliased {@code t}, read from the table by the find and from the updated row by
+     * the patch.
+     */
+    private static final String GRAPH_JSON = """
+            SELECT CAST(json_build_object(
+                       'id', t.id,
+                       'name', t.name,
+                       'department', (SELECT json_build_object('id', d.id, 'name', d.name)
+                                      FROM departments d
+                                      WHERE d.head_of_department_id = t.id),
+                       'courses', COALESCE((SELECT json_agg(json_build_object('id', c.id, 'title', c.title) ORDER BY c.id)
+                                            FROM courses c
+                                            WHERE c.teacher_id = t.id), CAST('[]' AS json))
+                   ) AS text)
+            """;
+
+    public static final String FIND_ALL_AFTER_ID = """
+            SELECT t.id, t.name FROM teachers t
+            WHERE t.id > :after
+            ORDER BY t.id
+            LIMIT :limit
+            """;
+
+    public static final String FIND_ALL_BY_ID_ARRAY = """
+            SELECT t.id, t.name FROM teachers t
+            WHERE t.id = ANY(:ids)
+            """;
+
+    public static final String FIND_BY_COURSE_ID = """
+            SELECT t.id, t.name FROM teachers t
+            JOIN courses c ON t.id = c.teacher_id
+            WHERE c.id = :courseId
+            """;
+
+    public static final String FIND_ALL_BY_COURSE_ID_ARRAY = """
+            SELECT DISTINCT t.id, t.name
+            FROM teachers t
+            JOIN courses c ON t.id = c.teacher_id
+            WHERE c.id = ANY(:courseIds)
+            """;
+
+    public static final String FIND_BY_DEPARTMENT_ID = """
+            SELECT t.id, t.name FROM teachers t
+            JOIN departments d ON t.id = d.head_of_department_id
+            WHERE d.id = :departmentId
+            """;
+
+    public static final String FIND_ALL_BY_DEPARTMENT_ID_ARRAY = """
+            SELECT DISTINCT t.id, t.name
+            FROM teachers t
+            JOIN departments d ON t.id = d.head_of_department_id
+            WHERE d.id = ANY(:departmentIds)
+            """;
+
+    public static final String FIND_GRAPH_JSON_BY_ID = GRAPH_JSON + """
+            FROM teachers t
+            WHERE t.id = :id
+            """;
+
+    public static final String PATCH_GRAPH_JSON_BY_ID = """
+            WITH t AS (
+                UPDATE teachers
+                SET name = COALESCE(:name, name)
+                WHERE id = :id
+                RETURNING *
+            )
+            """ + GRAPH_JSON + """
+            FROM t
+            """;
+
+    private TeacherSql() {
+    }
+}
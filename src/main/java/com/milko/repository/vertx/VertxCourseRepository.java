@@ -0,0 +1,104 @@
+package com.milko.repository.vertx;
+
+import com.milko.dto.records.StudentCoursesView;
+import com.milko.dto.records.TeacherAssignmentResult;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Course;
+import com.milko.repository.CourseRepository;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.CourseSql;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("courses")
+@Replaces(CourseRepository.class)
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxCourseRepository extends VertxCrudRepository<Course> implements CourseRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.numbered(CourseSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_ALL_BY_STUDENT_ID = NamedParameters.numbered(CourseSql.FIND_ALL_BY_STUDENT_ID);
+    private static final String FIND_ALL_BY_TEACHER_ID = NamedParameters.numbered(CourseSql.FIND_ALL_BY_TEACHER_ID);
+    private static final String FIND_ALL_BY_STUDENT_ID_ARRAY = NamedParameters.numbered(CourseSql.FIND_ALL_BY_STUDENT_ID_ARRAY);
+    private static final String FIND_GRAPH_JSON_BY_ID = NamedParameters.numbered(CourseSql.FIND_GRAPH_JSON_BY_ID);
+    private static final String PATCH_GRAPH_JSON_BY_ID = NamedParameters.numbered(CourseSql.PATCH_GRAPH_JSON_BY_ID);
+    private static final String ASSIGN_TEACHER = NamedParameters.numbered(CourseSql.ASSIGN_TEACHER);
+
+    public VertxCourseRepository(SqlClient client) {
+        super(client, "courses", List.of("title", "teacher_id"));
+    }
+
+    @Override
+    public Flux<Course> findAllAfterId(Long after, int limit) {
+        return query(FIND_ALL_AFTER_ID, Tuple.of(after, limit), this::map);
+    }
+
+    @Override
+    public Flux<Course> findAllByStudentId(Long studentId) {
+        return query(FIND_ALL_BY_STUDENT_ID, Tuple.of(studentId), this::map);
+    }
+
+    @Override
+    public Flux<Course> findAllByTeacherId(Long teacherId) {
+        return query(FIND_ALL_BY_TEACHER_ID, Tuple.of(teacherId), this::map);
+    }
+
+    @Override
+    public Flux<StudentCoursesView> findAllByStudentIdArray(Long[] studentIds) {
+        return query(FIND_ALL_BY_STUDENT_ID_ARRAY, Tuple.tuple().addArrayOfLong(studentIds),
+                row -> new StudentCoursesView(
+                        row.getLong("student_id"),
+                        row.getLong("course_id"),
+                        row.getString("course_title"),
+                        row.getLong("course_teacher_id")));
+    }
+
+    @Override
+    public Mono<String> findGraphJsonById(Long id) {
+        return queryOne(FIND_GRAPH_JSON_BY_ID, Tuple.of(id), row -> row.getString(0));
+    }
+
+    @Override
+    public Mono<String> patchGraphJsonById(Long id, String title) {
+        return queryOne(PATCH_GRAPH_JSON_BY_ID, Tuple.of(title, id), row -> row.getString(0));
+    }
+
+    @Override
+    public Mono<TeacherAssignmentResult> assignTeacher(Long courseId, Long teacherId) {
+        return queryOne(ASSIGN_TEACHER, Tuple.of(courseId, teacherId), row -> new TeacherAssignmentResult(
+                row.getBoolean("target_exists"),
+                row.getBoolean("teacher_exists"),
+                row.getLong("previous_teacher_id")));
+    }
+
+    @Override
+    protected Course map(Row row) {
+        Course course = new Course();
+        course.setId(row.getLong("id"));
+        course.setTitle(row.getString("title"));
+        course.setTeacherId(row.getLong("teacher_id"));
+        return course;
+    }
+
+    @Override
+    protected Long idOf(Course course) {
+        return course.getId();
+    }
+
+    @Override
+    protected void assignId(Course course, Long id) {
+        course.setId(id);
+    }
+
+    @Override
+    protected Tuple columnValues(Course course) {
+        return Tuple.of(course.getTitle(), course.getTeacherId());
+    }
+}
@@ -0,0 +1,143 @@
+package com.milko.repository.vertx;
+
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * CRUD operations for an entity with a {@code BIGSERIAL id} column, executed on the pipelined Vert.x client.
+ * Subclasses describe the table columns and how to map an entity to and from a row.
+ */
+abstract class VertxCrudRepository<E> implements ReactorCrudRepository<E, Long> {
+    protected final SqlClient client;
+
+    private final String selectAll;
+    private final String selectById;
+    private final String insert;
+    private final String update;
+    private final String deleteById;
+    private final String deleteAll;
+    private final String existsById;
+    private final String count;
+
+    protected VertxCrudRepository(SqlClient client, String table, List<String> columns) {
+        this.client = client;
+        String columnList = String.join(", ", columns);
+        String placeholders = IntStream.rangeClosed(1, columns.size())
+                .mapToObj(i -> "$" + i)
+                .collect(Collectors.joining(", "));
+        String assignments = IntStream.range(0, columns.size())
+                .mapToObj(i -> columns.get(i) + " = $" + (i + 1))
+                .collect(Collectors.joining(", "));
+
+        this.selectAll = "SELECT id, " + columnList + " FROM " + table;
+        this.selectById = selectAll + " WHERE id = $1";
+        this.insert = "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ") RETURNING id";
+        this.update = "UPDATE " + table + " SET " + assignments + " WHERE id = $" + (columns.size() + 1);
+        this.deleteById = "DELETE FROM " + table + " WHERE id = $1";
+        this.deleteAll = "DELETE FROM " + table;
+        this.existsById = "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE id = $1)";
+        this.count = "SELECT count(*) FROM " + table;
+    }
+
+    protected abstract E map(Row row);
+
+    protected abstract Long idOf(E entity);
+
+    protected abstract void assignId(E entity, Long id);
+
+    protected abstract Tuple columnValues(E entity);
+
+    @Override
+    public <S extends E> Mono<S> save(S entity) {
+        return execute(insert, columnValues(entity))
+                .map(rows -> {
+                    assignId(entity, rows.iterator().next().getLong(0));
+                    return entity;
+                });
+    }
+
+    @Override
+    public <S extends E> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends E> Mono<S> update(S entity) {
+        return execute(update, columnValues(entity).addLong(idOf(entity)))
+                .thenReturn(entity);
+    }
+
+    @Override
+    public <S extends E> Flux<S> updateAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::update);
+    }
+
+    @Override
+    public Mono<E> findById(Long id) {
+        return queryOne(selectById, Tuple.of(id), this::map);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return queryOne(existsById, Tuple.of(id), row -> row.getBoolean(0));
+    }
+
+    @Override
+    public Flux<E> findAll() {
+        return query(selectAll, Tuple.tuple(), this::map);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return queryOne(count, Tuple.tuple(), row -> row.getLong(0));
+    }
+
+    @Override
+    public Mono<Long> deleteById(Long id) {
+        return execute(deleteById, Tuple.of(id)).map(rows -> (long) rows.rowCount());
+    }
+
+    @Override
+    public Mono<Long> delete(E entity) {
+        return deleteById(idOf(entity));
+    }
+
+    @Override
+    public Mono<Long> deleteAll(Iterable<? extends E> entities) {
+        return Flux.fromIterable(entities)
+                .concatMap(this::delete)
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Long> deleteAll() {
+        return execute(deleteAll, Tuple.tuple()).map(rows -> (long) rows.rowCount());
+    }
+
+    protected <T> Flux<T> query(String sql, Tuple parameters, Function<Row, T> mapper) {
+        return execute(sql, parameters).flatMapIterable(rows -> rows).map(mapper);
+    }
+
+    protected <T> Mono<T> queryOne(String sql, Tuple parameters, Function<Row, T> mapper) {
+        return query(sql, parameters, mapper).next();
+    }
+
+    protected Mono<RowSet<Row>> execute(String sql, Tuple parameters) {
+        return Mono.defer(() -> toMono(client.preparedQuery(sql).execute(parameters)));
+    }
+
+    private static <T> Mono<T> toMono(Future<T> future) {
+        return Mono.fromCompletionStage(future.toCompletionStage());
+    }
+}
@@ -0,0 +1,86 @@
+package com.milko.repository.vertx;
+
+import com.milko.dto.records.TeacherAssignmentResult;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Department;
+import com.milko.repository.DepartmentRepository;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.DepartmentSql;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("departments")
+@Replaces(DepartmentRepository.class)
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxDepartmentRepository extends VertxCrudRepository<Department> implements DepartmentRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.numbered(DepartmentSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_BY_HEAD_OF_DEPARTMENT_ID = NamedParameters.numbered(DepartmentSql.FIND_BY_HEAD_OF_DEPARTMENT_ID);
+    private static final String FIND_ALL_BY_HEAD_OF_DEPARTMENT_ID_ARRAY = NamedParameters.numbered(DepartmentSql.FIND_ALL_BY_HEAD_OF_DEPARTMENT_ID_ARRAY);
+    private static final String PATCH_BY_ID = NamedParameters.numbered(DepartmentSql.PATCH_BY_ID);
+    private static final String ASSIGN_HEAD = NamedParameters.numbered(DepartmentSql.ASSIGN_HEAD);
+
+    public VertxDepartmentRepository(SqlClient client) {
+        super(client, "departments", List.of("name", "head_of_department_id"));
+    }
+
+    @Override
+    public Flux<Department> findAllAfterId(Long after, int limit) {
+        return query(FIND_ALL_AFTER_ID, Tuple.of(after, limit), this::map);
+    }
+
+    @Override
+    public Mono<Department> findByHeadOfDepartmentId(Long headOfDepartmentId) {
+        return queryOne(FIND_BY_HEAD_OF_DEPARTMENT_ID, Tuple.of(headOfDepartmentId), this::map);
+    }
+
+    @Override
+    public Flux<Department> findAllByHeadOfDepartmentIdArray(Long[] headOfDepartmentIds) {
+        return query(FIND_ALL_BY_HEAD_OF_DEPARTMENT_ID_ARRAY, Tuple.tuple().addArrayOfLong(headOfDepartmentIds), this::map);
+    }
+
+    @Override
+    public Mono<Department> patchById(Long id, String name) {
+        return queryOne(PATCH_BY_ID, Tuple.of(name, id), this::map);
+    }
+
+    @Override
+    public Mono<TeacherAssignmentResult> assignHead(Long departmentId, Long teacherId) {
+        return queryOne(ASSIGN_HEAD, Tuple.of(departmentId, teacherId), row -> new TeacherAssignmentResult(
+                row.getBoolean("target_exists"),
+                row.getBoolean("teacher_exists"),
+                row.getLong("previous_teacher_id")));
+    }
+
+    @Override
+    protected Department map(Row row) {
+        Department department = new Department();
+        department.setId(row.getLong("id"));
+        department.setName(row.getString("name"));
+        department.setHeadOfDepartmentId(row.getLong("head_of_department_id"));
+        return department;
+    }
+
+    @Override
+    protected Long idOf(Department department) {
+        return department.getId();
+    }
+
+    @Override
+    protected void assignId(Department department, Long id) {
+        department.setId(id);
+    }
+
+    @Override
+    protected Tuple columnValues(Department department) {
+        return Tuple.of(department.getName(), department.getHeadOfDepartmentId());
+    }
+}
@@ -0,0 +1,45 @@
+package com.milko.repository.vertx;
+
+import com.milko.config.VertxPgProperties;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgBuilder;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlClient;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Factory
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxPgClientFactory {
+
+    @Singleton
+    @Bean(preDestroy = "close")
+    public Vertx vertx() {
+        return Vertx.vertx();
+    }
+
+    @Singleton
+    @Bean(preDestroy = "close")
+    public SqlClient pgClient(Vertx vertx, VertxPgProperties properties) {
+        log.info("in pgClient, uri = {}, maxSize = {}, pipeliningLimit = {}",
+                properties.getUri(), properties.getMaxSize(), properties.getPipeliningLimit());
+        PgConnectOptions connectOptions = PgConnectOptions.fromUri(properties.getUri())
+                .setUser(properties.getUser())
+                .setPassword(properties.getPassword())
+                .setPipeliningLimit(properties.getPipeliningLimit())
+                .setCachePreparedStatements(properties.isCachePreparedStatements())
+                .setPreparedStatementCacheMaxSize(properties.getPreparedStatementCacheMaxSize());
+        PoolOptions poolOptions = new PoolOptions()
+                .setMaxSize(properties.getMaxSize());
+        return PgBuilder.client()
+                .with(poolOptions)
+                .connectingTo(connectOptions)
+                .using(vertx)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.milko.repository.vertx;
+
+import com.milko.dto.records.CourseStudentsView;
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Student;
+import com.milko.repository.StudentRepository;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.StudentSql;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("students")
+@Replaces(StudentRepository.class)
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxStudentRepository extends VertxCrudRepository<Student> implements StudentRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.numbered(StudentSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_ALL_BY_COURSE_ID = NamedParameters.numbered(StudentSql.FIND_ALL_BY_COURSE_ID);
+    private static final String FIND_ALL_BY_COURSE_ID_ARRAY = NamedParameters.numbered(StudentSql.FIND_ALL_BY_COURSE_ID_ARRAY);
+    private static final String FIND_GRAPH_JSON_BY_ID = NamedParameters.numbered(StudentSql.FIND_GRAPH_JSON_BY_ID);
+    private static final String PATCH_GRAPH_JSON_BY_ID = NamedParameters.numbered(StudentSql.PATCH_GRAPH_JSON_BY_ID);
+
+    public VertxStudentRepository(SqlClient client) {
+        super(client, "students", List.of("name", "email"));
+    }
+
+    @Override
+    public Flux<Student> findAllAfterId(Long after, int limit) {
+        return query(FIND_ALL_AFTER_ID, Tuple.of(after, limit), this::map);
+    }
+
+    @Override
+    public Flux<Student> findAllByCourseId(Long courseId) {
+        return query(FIND_ALL_BY_COURSE_ID, Tuple.of(courseId), this::map);
+    }
+
+    @Override
+    public Flux<CourseStudentsView> findAllByCourseIdArray(Long[] courseIds) {
+        return query(FIND_ALL_BY_COURSE_ID_ARRAY, Tuple.tuple().addArrayOfLong(courseIds),
+                row -> new CourseStudentsView(
+                        row.getLong("course_id"),
+                        row.getLong("student_id"),
+                        row.getString("student_name"),
+                        row.getString("student_email")));
+    }
+
+    @Override
+    public Mono<String> findGraphJsonById(Long id) {
+        return queryOne(FIND_GRAPH_JSON_BY_ID, Tuple.of(id), row -> row.getString(0));
+    }
+
+    @Override
+    public Mono<String> patchGraphJsonById(Long id, String name, String email) {
+        return queryOne(PATCH_GRAPH_JSON_BY_ID, Tuple.of(name, email, id), row -> row.getString(0));
+    }
+
+    @Override
+    protected Student map(Row row) {
+        Student student = new Student();
+        student.setId(row.getLong("id"));
+        student.setName(row.getString("name"));
+        student.setEmail(row.getString("email"));
+        return student;
+    }
+
+    @Override
+    protected Long idOf(Student student) {
+        return student.getId();
+    }
+
+    @Override
+    protected void assignId(Student student, Long id) {
+        student.setId(id);
+    }
+
+    @Override
+    protected Tuple columnValues(Student student) {
+        return Tuple.of(student.getName(), student.getEmail());
+    }
+}
@@ -0,0 +1,99 @@
+package com.milko.repository.vertx;
+
+import com.milko.metrics.RepositoryMetrics;
+import com.milko.model.Teacher;
+import com.milko.repository.TeacherRepository;
+import com.milko.repository.sql.NamedParameters;
+import com.milko.repository.sql.TeacherSql;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Singleton
+@RepositoryMetrics("teachers")
+@Replaces(TeacherRepository.class)
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxTeacherRepository extends VertxCrudRepository<Teacher> implements TeacherRepository {
+    private static final String FIND_ALL_AFTER_ID = NamedParameters.numbered(TeacherSql.FIND_ALL_AFTER_ID);
+    private static final String FIND_ALL_BY_ID_ARRAY = NamedParameters.numbered(TeacherSql.FIND_ALL_BY_ID_ARRAY);
+    private static final String FIND_BY_COURSE_ID = NamedParameters.numbered(TeacherSql.FIND_BY_COURSE_ID);
+    private static final String FIND_ALL_BY_COURSE_ID_ARRAY = NamedParameters.numbered(TeacherSql.FIND_ALL_BY_COURSE_ID_ARRAY);
+    private static final String FIND_BY_DEPARTMENT_ID = NamedParameters.numbered(TeacherSql.FIND_BY_DEPARTMENT_ID);
+    private static final String FIND_ALL_BY_DEPARTMENT_ID_ARRAY = NamedParameters.numbered(TeacherSql.FIND_ALL_BY_DEPARTMENT_ID_ARRAY);
+    private static final String FIND_GRAPH_JSON_BY_ID = NamedParameters.numbered(TeacherSql.FIND_GRAPH_JSON_BY_ID);
+    private static final String PATCH_GRAPH_JSON_BY_ID = NamedParameters.numbered(TeacherSql.PATCH_GRAPH_JSON_BY_ID);
+
+    public VertxTeacherRepository(SqlClient client) {
+        super(client, "teachers", List.of("name"));
+    }
+
+    @Override
+    public Flux<Teacher> findAllAfterId(Long after, int limit) {
+        return query(FIND_ALL_AFTER_ID, Tuple.of(after, limit), this::map);
+    }
+
+    @Override
+    public Flux<Teacher> findAllByIdArray(Long[] ids) {
+        return query(FIND_ALL_BY_ID_ARRAY, Tuple.tuple().addArrayOfLong(ids), this::map);
+    }
+
+    @Override
+    public Mono<Teacher> findByCourseId(Long courseId) {
+        return queryOne(FIND_BY_COURSE_ID, Tuple.of(courseId), this::map);
+    }
+
+    @Override
+    public Flux<Teacher> findAllByCourseIdArray(Long[] courseIds) {
+        return query(FIND_ALL_BY_COURSE_ID_ARRAY, Tuple.tuple().addArrayOfLong(courseIds), this::map);
+    }
+
+    @Override
+    public Mono<Teacher> findByDepartmentId(Long departmentId) {
+        return queryOne(FIND_BY_DEPARTMENT_ID, Tuple.of(departmentId), this::map);
+    }
+
+    @Override
+    public Flux<Teacher> findAllByDepartmentIdArray(Long[] departmentIds) {
+        return query(FIND_ALL_BY_DEPARTMENT_ID_ARRAY, Tuple.tuple().addArrayOfLong(departmentIds), this::map);
+    }
+
+    @Override
+    public Mono<String> findGraphJsonById(Long id) {
+        return queryOne(FIND_GRAPH_JSON_BY_ID, Tuple.of(id), row -> row.getString(0));
+    }
+
+    @Override
+    public Mono<String> patchGraphJsonById(Long id, String name) {
+        return queryOne(PATCH_GRAPH_JSON_BY_ID, Tuple.of(name, id), row -> row.getString(0));
+    }
+
+    @Override
+    protected Teacher map(Row row) {
+        Teacher teacher = new Teacher();
+        teacher.setId(row.getLong("id"));
+        teacher.setName(row.getString("name"));
+        return teacher;
+    }
+
+    @Override
+    protected Long idOf(Teacher teacher) {
+        return teacher.getId();
+    }
+
+    @Override
+    protected void assignId(Teacher teacher, Long id) {
+        teacher.setId(id);
+    }
+
+    @Override
+    protected Tuple columnValues(Teacher teacher) {
+        return Tuple.of(teacher.getName());
+    }
+}
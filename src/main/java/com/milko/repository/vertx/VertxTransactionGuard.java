@@ -0,0 +1,58 @@
+package com.milko.repository.vertx;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.annotation.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The Vert.x repositories run every statement in autocommit on their own pool, outside the R2DBC transaction
+ * manager. A transactional write spanning several of their calls would not be atomic, so startup fails if any
+ * application method declares one; each write has to stay a single statement on this backend.
+ */
+@Slf4j
+@Context
+@Requires(property = "repository.backend", value = "vertx")
+public class VertxTransactionGuard {
+    private static final Set<TransactionDefinition.Propagation> NON_TRANSACTIONAL = EnumSet.of(
+            TransactionDefinition.Propagation.SUPPORTS,
+            TransactionDefinition.Propagation.NOT_SUPPORTED,
+            TransactionDefinition.Propagation.NEVER);
+
+    public VertxTransactionGuard(BeanContext beanContext) {
+        Set<String> writes = new TreeSet<>();
+        Set<String> reads = new TreeSet<>();
+        beanContext.getAllBeanDefinitions().stream()
+                .flatMap(definition -> definition.getExecutableMethods().stream())
+                .filter(method -> method.getDeclaringType().getPackageName().startsWith("com.milko"))
+                .filter(method -> method.hasStereotype(Transactional.class))
+                .filter(method -> !NON_TRANSACTIONAL.contains(propagation(method)))
+                .forEach(method -> (isReadOnly(method) ? reads : writes).add(
+                        method.getDeclaringType().getSimpleName() + "." + method.getMethodName()));
+        if (!writes.isEmpty()) {
+            throw new ConfigurationException("repository.backend=vertx cannot run transactional writes atomically: "
+                    + writes);
+        }
+        if (!reads.isEmpty()) {
+            log.warn("in VertxTransactionGuard, snapshot reads run statement by statement on the vertx backend: {}",
+                    reads);
+        }
+    }
+
+    private static TransactionDefinition.Propagation propagation(ExecutableMethod<?, ?> method) {
+        return method.enumValue(Transactional.class, "propagation", TransactionDefinition.Propagation.class)
+                .orElse(TransactionDefinition.Propagation.REQUIRED);
+    }
+
+    private static boolean isReadOnly(ExecutableMethod<?, ?> method) {
+        return method.booleanValue(Transactional.class, "readOnly").orElse(false);
+    }
+}
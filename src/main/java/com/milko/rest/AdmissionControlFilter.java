@@ -0,0 +1,91 @@
+package com.milko.rest;
+
+import com.milko.config.AdmissionControlProperties;
+import com.milko.exceptionhandling.ErrorResponse;
+import com.milko.metrics.ConnectionPoolMonitor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rejects API requests with a 503 while the R2DBC pool has more pending acquires than
+ * {@code api.admission.max-pending-acquires}. With {@code max-queued > 0} up to that many requests wait for the
+ * backlog to drain, each for at most {@code queue-timeout}, before being rejected. Queued requests re-check the
+ * backlog on the pool's shared acquire-completion signal instead of polling. Off unless
+ * {@code api.admission.enabled} is set.
+ */
+@Slf4j
+@Filter("/api/**")
+public class AdmissionControlFilter implements HttpServerFilter {
+    public static final String REJECTED_COUNTER = "admission.rejected";
+
+    private final AdmissionControlProperties properties;
+    private final ConnectionPoolMonitor poolMonitor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ConnectionPoolMonitor poolMonitor, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.poolMonitor = poolMonitor;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("admission.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for the connection pool backlog to drain")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!properties.isEnabled() || !saturated()) {
+            return chain.proceed(request);
+        }
+        if (queued.incrementAndGet() > properties.getMaxQueued()) {
+            queued.decrementAndGet();
+            return Mono.just(reject(request, "saturated"));
+        }
+        return poolMonitor.acquireCompletions()
+                .filter(ConnectionPoolMonitor.DEFAULT_POOL::equals)
+                .startWith(ConnectionPoolMonitor.DEFAULT_POOL)
+                .filter(pool -> !saturated())
+                .next()
+                .timeout(properties.getQueueTimeout())
+                .map(pool -> true)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(false))
+                .doFinally(signal -> queued.decrementAndGet())
+                .flatMapMany(admitted -> admitted
+                        ? chain.proceed(request)
+                        : Mono.<MutableHttpResponse<?>>just(reject(request, "queue_timeout")));
+    }
+
+    private boolean saturated() {
+        return poolMonitor.getPendingAcquires() > properties.getMaxPendingAcquires();
+    }
+
+    private MutableHttpResponse<?> reject(HttpRequest<?> request, String reason) {
+        log.warn("in doFilter, rejecting {} {}, reason = {}, pendingAcquires = {}",
+                request.getMethod(), request.getPath(), reason, poolMonitor.getPendingAcquires());
+        meterRegistry.counter(REJECTED_COUNTER, "reason", reason).increment();
+        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())))
+                .body(new ErrorResponse(
+                        LocalDateTime.now(),
+                        "503",
+                        "ConnectionPoolSaturated",
+                        "Too many requests are waiting for a database connection",
+                        request.getPath()
+                ));
+    }
+}
@@ -1,9 +1,16 @@
 package com.milko.rest;
 
+import com.milko.config.PaginationProperties;
 import com.milko.dto.CourseDto;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.IdListDto;
+import com.milko.dto.ImportReportDto;
+import com.milko.service.BulkImportService;
 import com.milko.service.CourseService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
@@ -11,15 +18,22 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Patch;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 
 @Controller("/api/v1/courses")
 @RequiredArgsConstructor
 public class CourseController {
     private final CourseService service;
+    private final PaginationProperties pagination;
+    private final NdjsonEncoder ndjsonEncoder;
+    private final BulkImportService bulkImportService;
 
     @Post
     public Mono<HttpResponse<CourseDto>> create(@Body CourseDto dto) {
@@ -27,11 +41,33 @@ public class CourseController {
                 .map(savedCourse -> HttpResponse.status(HttpStatus.CREATED).body(savedCourse));
     }
 
+    @Post(value = "import", consumes = MediaType.TEXT_CSV)
+    public Mono<ImportReportDto> importCsv(@Body Flux<byte[]> csv){
+        return bulkImportService.importCourses(csv);
+    }
+
     @Get
-    public Flux<CourseDto> getAll(){
+    public Mono<HttpResponse<List<CourseDto>>> getAll(@Nullable @QueryValue Long after, @Nullable @QueryValue Integer limit){
+        return service.findPage(after, pagination.resolveLimit(limit))
+                .map(PageResponses::ok);
+    }
+
+    @Get(produces = MediaType.APPLICATION_JSON_STREAM)
+    public Flux<CourseDto> streamAll(){
         return service.findAll();
     }
 
+    @Get(produces = NdjsonEncoder.APPLICATION_NDJSON)
+    public Flux<byte[]> streamAllAsNdjson(){
+        return ndjsonEncoder.encode(service.findAll());
+    }
+
+    @Get(produces = MediaType.TEXT_EVENT_STREAM)
+    public Flux<Event<CourseDto>> streamAllAsEvents(){
+        return service.findAll()
+                .map(dto -> Event.of(dto).id(String.valueOf(dto.getId())));
+    }
+
     @Get("{id}")
     public Mono<CourseDto> getById(@PathVariable Long id){
         return service.findById(id);
@@ -52,4 +88,9 @@ public class CourseController {
     public Mono<CourseDto> setTeacherToCourse(@PathVariable Long courseId, @PathVariable Long teacherId){
         return service.setTeacherToCourse(courseId, teacherId);
     }
+
+    @Post("{courseId}/students:batch")
+    public Mono<List<EnrollmentItemDto>> enrollStudents(@PathVariable Long courseId, @Body IdListDto body){
+        return service.enrollStudents(courseId, body.getIds());
+    }
 }
@@ -1,9 +1,12 @@
 package com.milko.rest;
 
+import com.milko.config.PaginationProperties;
 import com.milko.dto.DepartmentDto;
 import com.milko.service.DepartmentService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
@@ -11,15 +14,21 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Patch;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 
 @Controller("/api/v1/departments")
 @RequiredArgsConstructor
 public class DepartmentController {
     private final DepartmentService service;
+    private final PaginationProperties pagination;
+    private final NdjsonEncoder ndjsonEncoder;
 
     @Post
     public Mono<HttpResponse<DepartmentDto>> create(@Body DepartmentDto dto){
@@ -28,10 +37,27 @@ public class DepartmentController {
     }
 
     @Get
-    public Flux<DepartmentDto> getAll(){
+    public Mono<HttpResponse<List<DepartmentDto>>> getAll(@Nullable @QueryValue Long after, @Nullable @QueryValue Integer limit){
+        return service.findPage(after, pagination.resolveLimit(limit))
+                .map(PageResponses::ok);
+    }
+
+    @Get(produces = MediaType.APPLICATION_JSON_STREAM)
+    public Flux<DepartmentDto> streamAll(){
         return service.findAll();
     }
 
+    @Get(produces = NdjsonEncoder.APPLICATION_NDJSON)
+    public Flux<byte[]> streamAllAsNdjson(){
+        return ndjsonEncoder.encode(service.findAll());
+    }
+
+    @Get(produces = MediaType.TEXT_EVENT_STREAM)
+    public Flux<Event<DepartmentDto>> streamAllAsEvents(){
+        return service.findAll()
+                .map(dto -> Event.of(dto).id(String.valueOf(dto.getId())));
+    }
+
     @Get("{id}")
     public Mono<DepartmentDto> getById(@PathVariable Long id){
         return service.findById(id);
@@ -0,0 +1,24 @@
+package com.milko.rest;
+
+import com.milko.service.EnrollmentExportService;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@Controller("/api/v1/enrollments")
+@RequiredArgsConstructor
+public class EnrollmentController {
+    private final EnrollmentExportService exportService;
+
+    @Get(value = "export", produces = MediaType.TEXT_CSV)
+    public Flux<byte[]> exportCsv(){
+        return exportService.exportCsv();
+    }
+
+    @Get(value = "export", produces = NdjsonEncoder.APPLICATION_NDJSON)
+    public Flux<byte[]> exportNdjson(){
+        return exportService.exportNdjson();
+    }
+}
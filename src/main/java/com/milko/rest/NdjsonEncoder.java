@@ -0,0 +1,33 @@
+package com.milko.rest;
+
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+@Singleton
+@RequiredArgsConstructor
+public class NdjsonEncoder {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final JsonMapper jsonMapper;
+
+    public <T> Flux<byte[]> encode(Flux<T> items) {
+        return items.map(this::toLine);
+    }
+
+    private byte[] toLine(Object item) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(item);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.milko.rest;
+
+import com.milko.dto.CursorPage;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+
+import java.util.List;
+
+final class PageResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponses() {
+    }
+
+    static <T> HttpResponse<List<T>> ok(CursorPage<T> page) {
+        MutableHttpResponse<List<T>> response = HttpResponse.ok(page.getItems());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response;
+    }
+}
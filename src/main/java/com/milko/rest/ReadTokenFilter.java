@@ -0,0 +1,66 @@
+package com.milko.rest;
+
+import com.milko.repository.routing.DatasourceRouting;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Adds the primary's current WAL position as {@code X-Read-Token} to successful writes, so a client that echoes it
+ * on later reads sees its own writes even when those reads are served by the replica. Every successful write pays
+ * one more primary connection and round trip for {@code pg_current_wal_lsn()}, so the filter only exists while
+ * {@code replica.enabled} is set.
+ */
+@Slf4j
+@Filter("/api/**")
+@Requires(property = "replica.enabled", value = "true")
+@RequiredArgsConstructor
+public class ReadTokenFilter implements HttpServerFilter {
+    private static final Set<HttpMethod> WRITES = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final String CURRENT_LSN = "SELECT CAST(pg_current_wal_lsn() AS text)";
+
+    private final ConnectionFactory connectionFactory;
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!WRITES.contains(request.getMethod())) {
+            return chain.proceed(request);
+        }
+        return Flux.from(chain.proceed(request))
+                .concatMap(this::withReadToken);
+    }
+
+    private Mono<MutableHttpResponse<?>> withReadToken(MutableHttpResponse<?> response) {
+        if (response.getStatus().getCode() >= 300) {
+            return Mono.just(response);
+        }
+        return currentLsn()
+                .<MutableHttpResponse<?>>map(lsn -> response.header(DatasourceRouting.READ_TOKEN_HEADER, lsn))
+                .defaultIfEmpty(response)
+                .onErrorResume(e -> {
+                    log.warn("in withReadToken, could not read primary WAL position", e);
+                    return Mono.just(response);
+                });
+    }
+
+    private Mono<String> currentLsn() {
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Mono.from(connection.createStatement(CURRENT_LSN).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, String.class)))),
+                Connection::close);
+    }
+}
@@ -1,10 +1,17 @@
 package com.milko.rest;
 
+import com.milko.config.PaginationProperties;
 import com.milko.dto.CourseDto;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.IdListDto;
+import com.milko.dto.ImportReportDto;
 import com.milko.dto.StudentDto;
+import com.milko.service.BulkImportService;
 import com.milko.service.StudentService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
@@ -12,16 +19,23 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Patch;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Slf4j
 @Controller("/api/v1/students")
 @RequiredArgsConstructor
 public class StudentController {
     private final StudentService service;
+    private final PaginationProperties pagination;
+    private final NdjsonEncoder ndjsonEncoder;
+    private final BulkImportService bulkImportService;
 
     @Post
     public Mono<HttpResponse<StudentDto>> create(@Body StudentDto dto){
@@ -29,11 +43,33 @@ public class StudentController {
                 .map(student -> HttpResponse.status(HttpStatus.CREATED).body(student));
     }
 
+    @Post(value = "import", consumes = MediaType.TEXT_CSV)
+    public Mono<ImportReportDto> importCsv(@Body Flux<byte[]> csv){
+        return bulkImportService.importStudents(csv);
+    }
+
     @Get
-    public Flux<StudentDto> getAll(){
+    public Mono<HttpResponse<List<StudentDto>>> getAll(@Nullable @QueryValue Long after, @Nullable @QueryValue Integer limit){
+        return service.findPage(after, pagination.resolveLimit(limit))
+                .map(PageResponses::ok);
+    }
+
+    @Get(produces = MediaType.APPLICATION_JSON_STREAM)
+    public Flux<StudentDto> streamAll(){
         return service.findAll();
     }
 
+    @Get(produces = NdjsonEncoder.APPLICATION_NDJSON)
+    public Flux<byte[]> streamAllAsNdjson(){
+        return ndjsonEncoder.encode(service.findAll());
+    }
+
+    @Get(produces = MediaType.TEXT_EVENT_STREAM)
+    public Flux<Event<StudentDto>> streamAllAsEvents(){
+        return service.findAll()
+                .map(dto -> Event.of(dto).id(String.valueOf(dto.getId())));
+    }
+
     @Get("{id}")
     public Mono<StudentDto> getById(@PathVariable Long id){
         return service.findById(id);
@@ -59,4 +95,9 @@ public class StudentController {
     public Mono<StudentDto> addCourseToStudent(@PathVariable Long studentId, @PathVariable Long courseId){
         return service.addCourseToStudent(studentId, courseId);
     }
+
+    @Post("{studentId}/courses:batch")
+    public Mono<List<EnrollmentItemDto>> enrollInCourses(@PathVariable Long studentId, @Body IdListDto body){
+        return service.enrollInCourses(studentId, body.getIds());
+    }
 }
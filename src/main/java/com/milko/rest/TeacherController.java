@@ -1,9 +1,14 @@
 package com.milko.rest;
 
+import com.milko.config.PaginationProperties;
+import com.milko.dto.ImportReportDto;
 import com.milko.dto.TeacherDto;
+import com.milko.service.BulkImportService;
 import com.milko.service.TeacherService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
@@ -11,14 +16,21 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Patch;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Controller("/api/v1/teachers")
 @RequiredArgsConstructor
 public class TeacherController {
     private final TeacherService service;
+    private final PaginationProperties pagination;
+    private final NdjsonEncoder ndjsonEncoder;
+    private final BulkImportService bulkImportService;
 
     @Post
     public Mono<HttpResponse<TeacherDto>> create(@Body TeacherDto dto){
@@ -26,11 +38,33 @@ public class TeacherController {
                 .map(teacher -> HttpResponse.status(HttpStatus.CREATED).body(teacher));
     }
 
+    @Post(value = "import", consumes = MediaType.TEXT_CSV)
+    public Mono<ImportReportDto> importCsv(@Body Flux<byte[]> csv){
+        return bulkImportService.importTeachers(csv);
+    }
+
     @Get
-    public Flux<TeacherDto> getAll(){
+    public Mono<HttpResponse<List<TeacherDto>>> getAll(@Nullable @QueryValue Long after, @Nullable @QueryValue Integer limit){
+        return service.findPage(after, pagination.resolveLimit(limit))
+                .map(PageResponses::ok);
+    }
+
+    @Get(produces = MediaType.APPLICATION_JSON_STREAM)
+    public Flux<TeacherDto> streamAll(){
         return service.findAll();
     }
 
+    @Get(produces = NdjsonEncoder.APPLICATION_NDJSON)
+    public Flux<byte[]> streamAllAsNdjson(){
+        return ndjsonEncoder.encode(service.findAll());
+    }
+
+    @Get(produces = MediaType.TEXT_EVENT_STREAM)
+    public Flux<Event<TeacherDto>> streamAllAsEvents(){
+        return service.findAll()
+                .map(dto -> Event.of(dto).id(String.valueOf(dto.getId())));
+    }
+
     @Get("{id}")
     public Mono<TeacherDto> getById(@PathVariable Long id){
         return service.findById(id);
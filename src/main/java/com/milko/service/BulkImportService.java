@@ -0,0 +1,11 @@
+package com.milko.service;
+
+import com.milko.dto.ImportReportDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BulkImportService {
+    Mono<ImportReportDto> importStudents(Flux<byte[]> csv);
+    Mono<ImportReportDto> importTeachers(Flux<byte[]> csv);
+    Mono<ImportReportDto> importCourses(Flux<byte[]> csv);
+}
@@ -1,14 +1,20 @@
 package com.milko.service;
 
 import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CourseService{
     Mono<CourseDto> create(CourseDto dto);
     Mono<CourseDto> update(CourseDto dto);
     Mono<CourseDto> findById(Long id);
     Flux<CourseDto> findAll();
+    Mono<CursorPage<CourseDto>> findPage(Long after, int limit);
     Mono<Void> deleteById(Long id);
     Mono<CourseDto> setTeacherToCourse(Long courseId, Long teacherId);
+    Mono<List<EnrollmentItemDto>> enrollStudents(Long courseId, List<Long> studentIds);
 }
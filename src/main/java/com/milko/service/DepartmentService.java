@@ -1,6 +1,7 @@
 package com.milko.service;
 
 
+import com.milko.dto.CursorPage;
 import com.milko.dto.DepartmentDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -10,6 +11,7 @@ public interface DepartmentService{
     Mono<DepartmentDto> update(DepartmentDto dto);
     Mono<DepartmentDto> findById(Long id);
     Flux<DepartmentDto> findAll();
+    Mono<CursorPage<DepartmentDto>> findPage(Long after, int limit);
     Mono<Void> deleteById(Long id);
     Mono<DepartmentDto> setTeacherToDepartment(Long departmentId, Long teacherId);
 }
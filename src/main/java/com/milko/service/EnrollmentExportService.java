@@ -0,0 +1,8 @@
+package com.milko.service;
+
+import reactor.core.publisher.Flux;
+
+public interface EnrollmentExportService {
+    Flux<byte[]> exportCsv();
+    Flux<byte[]> exportNdjson();
+}
@@ -2,16 +2,22 @@ package com.milko.service;
 
 
 import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
 import com.milko.dto.StudentDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface StudentService {
     Mono<StudentDto> create(StudentDto dto);
     Flux<StudentDto> findAll();
+    Mono<CursorPage<StudentDto>> findPage(Long after, int limit);
     Mono<StudentDto> findById(Long id);
     Mono<StudentDto> update(StudentDto dto);
     Mono<Void> deleteById(Long id);
     Mono<StudentDto> addCourseToStudent(Long studentId, Long courseId);
+    Mono<List<EnrollmentItemDto>> enrollInCourses(Long studentId, List<Long> courseIds);
     Flux<CourseDto> findAllCoursesByStudentId(Long id);
 }
@@ -1,6 +1,7 @@
 package com.milko.service;
 
 
+import com.milko.dto.CursorPage;
 import com.milko.dto.TeacherDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -10,5 +11,6 @@ public interface TeacherService {
     Mono<TeacherDto> update(TeacherDto dto);
     Mono<TeacherDto> findById(Long id);
     Flux<TeacherDto> findAll();
+    Mono<CursorPage<TeacherDto>> findPage(Long after, int limit);
     Mono<Void> deleteById(Long id);
 }
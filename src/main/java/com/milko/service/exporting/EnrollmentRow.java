@@ -0,0 +1,15 @@
+package com.milko.service.exporting;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+@JsonInclude(JsonInclude.Include.ALWAYS)
+public record EnrollmentRow(Long courseId,
+                            String courseTitle,
+                            Long teacherId,
+                            String teacherName,
+                            Long studentId,
+                            String studentName,
+                            String studentEmail) {
+}
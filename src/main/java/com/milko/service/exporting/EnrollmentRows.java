@@ -0,0 +1,61 @@
+package com.milko.service.exporting;
+
+import io.r2dbc.spi.Readable;
+
+public final class EnrollmentRows {
+    public static final String SQL = """
+            SELECT c.id AS course_id,
+                   c.title AS course_title,
+                   t.id AS teacher_id,
+                   t.name AS teacher_name,
+                   s.id AS student_id,
+                   s.name AS student_name,
+                   s.email AS student_email
+            FROM course_student cs
+            JOIN courses c ON c.id = cs.course_id
+            JOIN students s ON s.id = cs.student_id
+            LEFT JOIN teachers t ON t.id = c.teacher_id
+            ORDER BY cs.course_id, cs.student_id
+            """;
+
+    public static final String CSV_HEADER =
+            "course_id,course_title,teacher_id,teacher_name,student_id,student_name,student_email\n";
+
+    private EnrollmentRows() {
+    }
+
+    public static String toCsv(Readable row) {
+        return row.get("course_id", Long.class) + ","
+                + csv(row.get("course_title", String.class)) + ","
+                + nullToEmpty(row.get("teacher_id", Long.class)) + ","
+                + csv(row.get("teacher_name", String.class)) + ","
+                + row.get("student_id", Long.class) + ","
+                + csv(row.get("student_name", String.class)) + ","
+                + csv(row.get("student_email", String.class)) + "\n";
+    }
+
+    public static EnrollmentRow read(Readable row) {
+        return new EnrollmentRow(
+                row.get("course_id", Long.class),
+                row.get("course_title", String.class),
+                row.get("teacher_id", Long.class),
+                row.get("teacher_name", String.class),
+                row.get("student_id", Long.class),
+                row.get("student_name", String.class),
+                row.get("student_email", String.class));
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,127 @@
+package com.milko.service.impl;
+
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
+import com.milko.dto.ImportReportDto;
+import com.milko.repository.PostgresConnections;
+import com.milko.service.BulkImportService;
+import com.milko.service.importing.CopyText;
+import com.milko.service.importing.CsvLines;
+import com.milko.service.importing.ImportSpec;
+import com.milko.service.importing.ImportSpecs;
+import com.milko.service.importing.ImportTally;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class BulkImportServiceImpl implements BulkImportService {
+    private static final int ROWS_PER_COPY_CHUNK = 512;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ConnectionFactory connectionFactory;
+    private final EntityCacheInvalidator cacheInvalidator;
+
+    @Override
+    public Mono<ImportReportDto> importStudents(Flux<byte[]> csv) {
+        return importCsv(csv, ImportSpecs.STUDENTS);
+    }
+
+    @Override
+    public Mono<ImportReportDto> importTeachers(Flux<byte[]> csv) {
+        return importCsv(csv, ImportSpecs.TEACHERS);
+    }
+
+    @Override
+    public Mono<ImportReportDto> importCourses(Flux<byte[]> csv) {
+        return importCsv(csv, ImportSpecs.COURSES)
+                .doOnNext(report -> {
+                    if (report.getInserted() > 0) {
+                        cacheInvalidator.evictAll(EntityCaches.TEACHERS);
+                    }
+                });
+    }
+
+    private Mono<ImportReportDto> importCsv(Flux<byte[]> csv, ImportSpec spec) {
+        log.info("in importCsv, entity = {}", spec.entity());
+        return Mono.defer(() -> {
+            ImportTally tally = new ImportTally(MAX_REPORTED_ERRORS);
+            Flux<ByteBuffer> copyData = CsvLines.lines(csv)
+                    .index()
+                    .<String>handle((indexed, sink) -> {
+                        long line = indexed.getT1() + 1;
+                        String text = indexed.getT2();
+                        if (text.isBlank()) {
+                            return;
+                        }
+                        try {
+                            List<String> fields = CsvLines.parse(text);
+                            if (line == 1 && spec.isHeader(fields)) {
+                                return;
+                            }
+                            tally.received();
+                            List<String> values = new ArrayList<>();
+                            values.add(Long.toString(line));
+                            values.addAll(spec.rowMapper().apply(fields));
+                            sink.next(CopyText.row(values));
+                        } catch (IllegalArgumentException e) {
+                            tally.reject(line, e.getMessage());
+                        }
+                    })
+                    .buffer(ROWS_PER_COPY_CHUNK)
+                    .map(CopyText::encode);
+
+            return Mono.usingWhen(
+                    connectionFactory.create(),
+                    connection -> load(connection, spec, copyData, tally),
+                    Connection::close);
+        }).doOnNext(report -> log.info("in importCsv, entity = {}, report = {}", spec.entity(), report));
+    }
+
+    private Mono<ImportReportDto> load(Connection connection, ImportSpec spec, Flux<ByteBuffer> copyData, ImportTally tally) {
+        PostgresqlConnection postgresqlConnection = PostgresConnections.unwrap(connection).orElse(null);
+        if (postgresqlConnection == null) {
+            return Mono.error(new IllegalStateException("COPY requires an r2dbc-postgresql connection"));
+        }
+        return Mono.from(connection.beginTransaction())
+                .then(execute(connection, spec.createStagingSql()))
+                .then(postgresqlConnection.copyIn(spec.copySql(), copyData))
+                .flatMap(copied -> rejectOnLoad(connection, spec, tally)
+                        .flatMap(rejected -> execute(connection, spec.insertSql())
+                                .map(inserted -> tally.toReport(copied, rejected, inserted))))
+                .flatMap(report -> Mono.from(connection.commitTransaction()).thenReturn(report))
+                .onErrorResume(e -> Mono.from(connection.rollbackTransaction())
+                        .onErrorResume(rollbackError -> Mono.empty())
+                        .then(Mono.error(e)));
+    }
+
+    private Mono<Long> rejectOnLoad(Connection connection, ImportSpec spec, ImportTally tally) {
+        if (spec.rejectSql() == null) {
+            return Mono.just(0L);
+        }
+        return Flux.from(connection.createStatement(spec.rejectSql()).execute())
+                .flatMap(result -> result.map((row, metadata) -> {
+                    tally.reject(row.get("line_no", Long.class), row.get("message", String.class));
+                    return 1L;
+                }))
+                .count();
+    }
+
+    private Mono<Long> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(Result::getRowsUpdated)
+                .reduce(0L, Long::sum);
+    }
+}
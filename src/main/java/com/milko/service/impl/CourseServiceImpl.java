@@ -1,43 +1,55 @@
 package com.milko.service.impl;
 
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
 import com.milko.dto.CourseDto;
-import com.milko.dto.StudentDto;
-import com.milko.dto.TeacherDto;
-import com.milko.dto.records.CourseStudentsView;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
 import com.milko.exception.EntityNotFoundException;
 import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.StudentMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Course;
-import com.milko.model.Student;
 import com.milko.model.Teacher;
 import com.milko.repository.CourseRepository;
+import com.milko.repository.CourseStudentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.StudentRepository;
 import com.milko.repository.TeacherRepository;
+import com.milko.repository.routing.ReplicaRead;
 import com.milko.service.CourseService;
+import com.milko.service.transaction.SnapshotRead;
 import jakarta.inject.Singleton;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
-import reactor.util.function.Tuple3;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class CourseServiceImpl implements CourseService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final CourseStudentRepository courseStudentRepository;
     private final CourseMapper courseMapper;
     private final StudentMapper studentMapper;
     private final TeacherMapper teacherMapper;
+    private final GraphJsonMapper graphJsonMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+    private final IdChunks idChunks;
 
     @Override
     public Mono<CourseDto> create(CourseDto dto) {
@@ -47,132 +59,113 @@ public class CourseServiceImpl implements CourseService {
                 .map(courseMapper::toCourseDto);
     }
 
-    @Transactional
     @Override
     public Mono<CourseDto> update(CourseDto dto) {
         log.info("in update, dto = {}", dto);
-        return courseRepository.findById(dto.getId())
+        return courseRepository.patchGraphJsonById(dto.getId(), dto.getTitle())
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + dto.getId() + " not found")))
-                .flatMap(course -> {
-                    courseMapper.updateFromDto(dto, course);
-                    return courseRepository.update(course);
-                })
-                .flatMap(this::fetchRelatedEntitiesForCourse)
-                .map(this::buildCourseDto);
+                .map(json -> graphJsonMapper.read(json, CourseDto.class))
+                .doOnNext(cacheInvalidator::evictCourse);
     }
 
-    @Transactional
     @Override
     public Mono<CourseDto> findById(Long id) {
         log.info("in findById, id = {}", id);
-        return courseRepository.findById(id)
+        return entityCache.get(EntityCaches.COURSES, id, CourseDto.class, () -> courseRepository.findGraphJsonById(id)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + id + " not found")))
-                .flatMap(this::fetchRelatedEntitiesForCourse)
-                .map(this::buildCourseDto);
+                .map(json -> graphJsonMapper.read(json, CourseDto.class)));
     }
 
-    @Transactional
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
     @Override
     public Flux<CourseDto> findAll() {
         log.info("in findAll");
 
         return courseRepository.findAll()
+                .buffer(FIND_ALL_BATCH_SIZE)
+                .concatMap(this::buildCourseDtos, 1)
+                .flatMapIterable(courseDtos -> courseDtos);
+    }
+
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
+    @SnapshotRead
+    @Override
+    public Mono<CursorPage<CourseDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+
+        return courseRepository.findAllAfterId(after == null ? 0L : after, limit + 1)
                 .collectList()
                 .flatMap(courses -> {
-                    List<Long> coursesId = courses.stream()
-                            .map(Course::getId)
-                            .toList();
-
-                    return teacherRepository.findAllByCoursesIdList(coursesId)
-                            .collectList()
-                            .flatMap(teachers -> {
-                                Map<Long, Teacher> teachersMap = teachers.stream()
-                                        .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
-
-                                return studentRepository.findAllByCoursesIdList(coursesId)
-                                        .collectList()
-                                        .flatMap(studentViews -> {
-                                            Map<Long, List<Student>> studentsByCourseId = studentViews.stream()
-                                                    .collect(Collectors.groupingBy(CourseStudentsView::getCourseId,
-                                                            Collectors.mapping(studentMapper::toStudent, Collectors.toList())));
-
-                                            List<CourseDto> courseDtos = courses.stream()
-                                                    .map(course -> {
-                                                        CourseDto courseDto = courseMapper.toCourseDto(course);
-                                                        courseDto.setTeacher(teacherMapper.toTeacherDto(
-                                                                teachersMap.getOrDefault(course.getTeacherId(), null)
-                                                        ));
-
-                                                        List<StudentDto> studentDtoList = studentsByCourseId
-                                                                .getOrDefault(course.getId(), List.of())
-                                                                .stream()
-                                                                .map(studentMapper::toStudentDto)
-                                                                .toList();
-
-                                                        courseDto.setStudents(studentDtoList);
-                                                        return courseDto;
-                                                    })
-                                                    .toList();
-
-                                            return Mono.just(courseDtos);
-                                        });
-                            });
-                })
-                .flatMapMany(Flux::fromIterable);
+                    if (courses.isEmpty()) {
+                        return Mono.just(new CursorPage<CourseDto>(List.of(), null));
+                    }
+                    boolean hasNext = courses.size() > limit;
+                    List<Course> page = hasNext ? courses.subList(0, limit) : courses;
+                    Long nextCursor = hasNext ? page.getLast().getId() : null;
+
+                    return buildCourseDtos(page)
+                            .map(courseDtos -> new CursorPage<>(courseDtos, nextCursor));
+                });
     }
 
+    private Mono<List<CourseDto>> buildCourseDtos(List<Course> courses) {
+        List<Long> coursesId = courses.stream()
+                .map(Course::getId)
+                .toList();
+
+        return idChunks.query(coursesId, teacherRepository::findAllByCourseIdArray)
+                .distinct(Teacher::getId)
+                .collectList()
+                .flatMap(teachers -> idChunks.query(coursesId, studentRepository::findAllByCourseIdArray)
+                        .collectList()
+                        .map(studentViews -> GraphAssembly.courses(courses, teachers, studentViews,
+                                courseMapper, studentMapper, teacherMapper)));
+    }
 
     @Override
     public Mono<Void> deleteById(Long id) {
         log.info("in deleteById, id = {}", id);
-        return courseRepository.deleteById(id).then();
+        return courseRepository.deleteById(id)
+                .then(Mono.fromRunnable(() -> cacheInvalidator.courseDeleted(id)));
+    }
+
+    @Override
+    public Mono<List<EnrollmentItemDto>> enrollStudents(Long courseId, List<Long> studentIds) {
+        Long[] ids = EnrollmentResults.distinctIds(studentIds);
+        log.info("in enrollStudents, courseId = {}, students = {}", courseId, ids.length);
+        if (ids.length == 0) {
+            return courseRepository.findById(courseId)
+                    .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found")))
+                    .thenReturn(List.of());
+        }
+        return EnrollmentResults.collect(courseStudentRepository.enrollStudentsInCourse(courseId, ids),
+                        () -> new EntityNotFoundException("Course with ID " + courseId + " not found"))
+                .doOnNext(items -> {
+                    List<Long> enrolled = EnrollmentResults.enrolledIds(items);
+                    if (!enrolled.isEmpty()) {
+                        cacheInvalidator.evict(EntityCaches.COURSES, courseId);
+                        enrolled.forEach(studentId -> cacheInvalidator.evict(EntityCaches.STUDENTS, studentId));
+                    }
+                });
     }
 
-    @Transactional
     @Override
     public Mono<CourseDto> setTeacherToCourse(Long courseId, Long teacherId) {
         log.info("in setTeacherToCourse, courseId = {}, teacherId = {}", courseId, teacherId);
-        Mono<Course> courseMono = courseRepository.findById(courseId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found")));
-        Mono<Teacher> teacherMono = teacherRepository.findById(teacherId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Teacher with ID " + teacherId + " not found")));
-        return Mono.zip(courseMono, teacherMono)
-                .flatMap(tuple -> {
-                    Course course = tuple.getT1();
-                    Teacher teacher = tuple.getT2();
-                    course.setTeacherId(teacherId);
-                    return courseRepository.update(course);
+        return courseRepository.assignTeacher(courseId, teacherId)
+                .flatMap(result -> {
+                    if (!result.isTargetExists()) {
+                        return Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found"));
+                    }
+                    if (!result.isTeacherExists()) {
+                        return Mono.error(new EntityNotFoundException("Teacher with ID " + teacherId + " not found"));
+                    }
+                    cacheInvalidator.evict(EntityCaches.TEACHERS, result.getPreviousTeacherId());
+                    return courseRepository.findGraphJsonById(courseId);
                 })
-                .flatMap(this::fetchRelatedEntitiesForCourse)
-                .map(this::buildCourseDto);
-    }
-
-    private Mono<Tuple3<Course, Teacher, List<Student>>> fetchRelatedEntitiesForCourse(Course course) {
-        Mono<Teacher> teacherMono = teacherRepository.findByCourseId(course.getId());
-
-        Mono<List<Student>> studentsMono = studentRepository.findAllByCourseId(course.getId()).collectList();
-
-        return Mono.zip(
-                Mono.just(course),
-                teacherMono.defaultIfEmpty(new Teacher()),
-                studentsMono
-        );
-    }
-
-
-    private CourseDto buildCourseDto(Tuple3<Course, Teacher, List<Student>> tuple) {
-        Course course = tuple.getT1();
-        Teacher teacher = tuple.getT2();
-        List<Student> students = tuple.getT3();
-
-        CourseDto courseDto = courseMapper.toCourseDto(course);
-        TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
-        List<StudentDto> studentsDto = students.stream()
-                .map(studentMapper::toStudentDto)
-                .collect(Collectors.toList());
-
-        courseDto.setTeacher(teacherDto);
-        courseDto.setStudents(studentsDto);
-        return courseDto;
+                .map(json -> graphJsonMapper.read(json, CourseDto.class))
+                .doOnNext(cacheInvalidator::evictCourse);
     }
 }
@@ -1,5 +1,11 @@
 package com.milko.service.impl;
 
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
+import com.milko.dto.CursorPage;
 import com.milko.dto.DepartmentDto;
 import com.milko.dto.TeacherDto;
 import com.milko.exception.EntityNotFoundException;
@@ -8,10 +14,12 @@ import com.milko.mapper.TeacherMapper;
 import com.milko.model.Department;
 import com.milko.model.Teacher;
 import com.milko.repository.DepartmentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.TeacherRepository;
+import com.milko.repository.routing.ReplicaRead;
 import com.milko.service.DepartmentService;
+import com.milko.service.transaction.SnapshotRead;
 import jakarta.inject.Singleton;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
@@ -26,10 +34,15 @@ import java.util.stream.Collectors;
 @Singleton
 @RequiredArgsConstructor
 public class DepartmentServiceImpl implements DepartmentService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
     private final DepartmentRepository departmentRepository;
     private final TeacherRepository teacherRepository;
     private final DepartmentMapper departmentMapper;
     private final TeacherMapper teacherMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+    private final IdChunks idChunks;
 
     @Override
     public Mono<DepartmentDto> create(DepartmentDto dto) {
@@ -39,83 +52,104 @@ public class DepartmentServiceImpl implements DepartmentService {
                 .map(departmentMapper::toDepartmentDto);
     }
 
-    @Transactional
     @Override
     public Mono<DepartmentDto> update(DepartmentDto dto) {
         log.info("in update, dto = {}", dto);
-        return departmentRepository.findById(dto.getId())
+        return departmentRepository.patchById(dto.getId(), dto.getName())
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Department with ID " + dto.getId() + " not found")))
-                .flatMap(department -> {
-                    departmentMapper.updateFromDto(dto, department);
-                    return departmentRepository.update(department);
-                })
                 .flatMap(this::fetchRelatedEntitiesForDepartment)
-                .map(this::buildDepartmentDto);
+                .map(this::buildDepartmentDto)
+                .doOnNext(cacheInvalidator::evictDepartment);
     }
 
-    @Transactional
     @Override
     public Mono<DepartmentDto> findById(Long id) {
         log.info("in findById, id = {}", id);
-        return departmentRepository.findById(id)
+        return entityCache.get(EntityCaches.DEPARTMENTS, id, DepartmentDto.class, () -> departmentRepository.findById(id)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Department with ID " + id + " not found")))
                 .flatMap(this::fetchRelatedEntitiesForDepartment)
-                .map(this::buildDepartmentDto);
+                .map(this::buildDepartmentDto));
     }
 
-    @Transactional
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
     @Override
     public Flux<DepartmentDto> findAll() {
         log.info("in findAll");
         return departmentRepository.findAll()
+                .buffer(FIND_ALL_BATCH_SIZE)
+                .concatMap(this::buildDepartmentDtos, 1)
+                .flatMapIterable(departmentDtos -> departmentDtos);
+    }
+
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
+    @SnapshotRead
+    @Override
+    public Mono<CursorPage<DepartmentDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+        return departmentRepository.findAllAfterId(after == null ? 0L : after, limit + 1)
                 .collectList()
                 .flatMap(departments -> {
-                    List<Long> departmentsId = departments.stream()
-                            .map(Department::getId)
-                            .toList();
-
-                    return teacherRepository.findAllByDepartmentsIdList(departmentsId)
-                            .collectList()
-                            .flatMap(teachers -> {
-                                Map<Long, Teacher> teacherMap = teachers.stream()
-                                        .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
-
-                                return Mono.just(departments.stream()
-                                        .map(department -> {
-                                            DepartmentDto departmentDto = departmentMapper.toDepartmentDto(department);
-                                            Teacher teacher = teacherMap.get(department.getHeadOfDepartmentId());
-                                            TeacherDto teacherDto = teacher != null ? teacherMapper.toTeacherDto(teacher) : null;
-                                            departmentDto.setHeadOfDepartment(teacherDto);
-                                            return departmentDto;
-                                        }).toList());
-                            });
-
-                }).flatMapMany(Flux::fromIterable);
+                    if (departments.isEmpty()) {
+                        return Mono.just(new CursorPage<DepartmentDto>(List.of(), null));
+                    }
+                    boolean hasNext = departments.size() > limit;
+                    List<Department> page = hasNext ? departments.subList(0, limit) : departments;
+                    Long nextCursor = hasNext ? page.getLast().getId() : null;
+
+                    return buildDepartmentDtos(page)
+                            .map(departmentDtos -> new CursorPage<>(departmentDtos, nextCursor));
+                });
+    }
+
+    private Mono<List<DepartmentDto>> buildDepartmentDtos(List<Department> departments) {
+        List<Long> departmentsId = departments.stream()
+                .map(Department::getId)
+                .toList();
+
+        return idChunks.query(departmentsId, teacherRepository::findAllByDepartmentIdArray)
+                .distinct(Teacher::getId)
+                .collectList()
+                .map(teachers -> {
+                    Map<Long, Teacher> teacherMap = teachers.stream()
+                            .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
+
+                    return departments.stream()
+                            .map(department -> {
+                                DepartmentDto departmentDto = departmentMapper.toDepartmentDto(department);
+                                Teacher teacher = teacherMap.get(department.getHeadOfDepartmentId());
+                                TeacherDto teacherDto = teacher != null ? teacherMapper.toTeacherDto(teacher) : null;
+                                departmentDto.setHeadOfDepartment(teacherDto);
+                                return departmentDto;
+                            }).toList();
+                });
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
         log.info("in deleteById, id = {}", id);
-        return departmentRepository.deleteById(id).then();
+        return departmentRepository.deleteById(id)
+                .then(Mono.fromRunnable(() -> cacheInvalidator.departmentDeleted(id)));
     }
 
-    @Transactional
     @Override
     public Mono<DepartmentDto> setTeacherToDepartment(Long departmentId, Long teacherId) {
         log.info("in setTeacherToDepartment, departmentId = {}, teacherId = {}", departmentId, teacherId);
-        Mono<Department> departmentMono = departmentRepository.findById(departmentId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Department with ID " + departmentId + " not found")));
-        Mono<Teacher> teacherMono = teacherRepository.findById(teacherId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Teacher with ID " + teacherId + " not found")));
-        return Mono.zip(departmentMono, teacherMono)
-                .flatMap(tuple -> {
-                    Department department = tuple.getT1();
-                    department.setHeadOfDepartmentId(teacherId);
-
-                    return departmentRepository.update(department)
-                            .flatMap(this::fetchRelatedEntitiesForDepartment)
-                            .map(this::buildDepartmentDto);
-                });
+        return departmentRepository.assignHead(departmentId, teacherId)
+                .flatMap(result -> {
+                    if (!result.isTargetExists()) {
+                        return Mono.error(new EntityNotFoundException("Department with ID " + departmentId + " not found"));
+                    }
+                    if (!result.isTeacherExists()) {
+                        return Mono.error(new EntityNotFoundException("Teacher with ID " + teacherId + " not found"));
+                    }
+                    cacheInvalidator.evict(EntityCaches.TEACHERS, result.getPreviousTeacherId());
+                    return departmentRepository.findById(departmentId);
+                })
+                .flatMap(this::fetchRelatedEntitiesForDepartment)
+                .map(this::buildDepartmentDto)
+                .doOnNext(cacheInvalidator::evictDepartment);
     }
 
     private Mono<Tuple2<Department, Teacher>> fetchRelatedEntitiesForDepartment(Department department) {
@@ -0,0 +1,81 @@
+package com.milko.service.impl;
+
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.config.ExportProperties;
+import com.milko.service.EnrollmentExportService;
+import com.milko.service.exporting.EnrollmentRow;
+import com.milko.service.exporting.EnrollmentRows;
+import io.micronaut.json.JsonMapper;
+import io.r2dbc.postgresql.api.PostgresTransactionDefinition;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Readable;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class EnrollmentExportServiceImpl implements EnrollmentExportService {
+    private static final PostgresTransactionDefinition SNAPSHOT =
+            PostgresTransactionDefinition.from(IsolationLevel.REPEATABLE_READ).readOnly();
+
+    private final ConnectionFactory connectionFactory;
+    private final ExportProperties properties;
+    private final JsonMapper jsonMapper;
+
+    @Bulkhead(Bulkheads.EXPORT)
+    @Override
+    public Flux<byte[]> exportCsv() {
+        log.info("in exportCsv");
+        return Flux.just(EnrollmentRows.CSV_HEADER.getBytes(StandardCharsets.UTF_8))
+                .concatWith(export(EnrollmentRows::toCsv));
+    }
+
+    @Bulkhead(Bulkheads.EXPORT)
+    @Override
+    public Flux<byte[]> exportNdjson() {
+        log.info("in exportNdjson");
+        return export(row -> toNdjson(EnrollmentRows.read(row)));
+    }
+
+    private Flux<byte[]> export(Function<Readable, String> encoder) {
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> Mono.from(connection.beginTransaction(SNAPSHOT))
+                        .thenMany(connection.createStatement(EnrollmentRows.SQL)
+                                .fetchSize(properties.getFetchSize())
+                                .execute())
+                        .concatMap(result -> result.map((row, metadata) -> encoder.apply(row)))
+                        .buffer(properties.getRowsPerChunk())
+                        .map(lines -> String.join("", lines).getBytes(StandardCharsets.UTF_8)),
+                connection -> Mono.from(connection.commitTransaction())
+                        .then(Mono.from(connection.close())),
+                (connection, error) -> release(connection),
+                this::release);
+    }
+
+    private String toNdjson(EnrollmentRow row) {
+        try {
+            return jsonMapper.writeValueAsString(row) + "\n";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Mono<Void> release(Connection connection) {
+        return Mono.from(connection.rollbackTransaction())
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.from(connection.close()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.milko.service.impl;
+
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.EnrollmentStatus;
+import com.milko.dto.records.EnrollmentItemView;
+import com.milko.exception.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+final class EnrollmentResults {
+
+    private EnrollmentResults() {
+    }
+
+    static Long[] distinctIds(List<Long> ids) {
+        if (ids == null) {
+            return new Long[0];
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+    }
+
+    static Mono<List<EnrollmentItemDto>> collect(Flux<EnrollmentItemView> rows, Supplier<EntityNotFoundException> targetNotFound) {
+        return rows.collectList()
+                .flatMap(views -> {
+                    if (!views.isEmpty() && !views.getFirst().isTargetExists()) {
+                        return Mono.error(targetNotFound.get());
+                    }
+                    return Mono.just(views.stream()
+                            .map(view -> new EnrollmentItemDto(view.getId(), EnrollmentStatus.valueOf(view.getStatus())))
+                            .toList());
+                });
+    }
+
+    static List<Long> enrolledIds(List<EnrollmentItemDto> items) {
+        return items.stream()
+                .filter(item -> item.getStatus() == EnrollmentStatus.ENROLLED)
+                .map(EnrollmentItemDto::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,169 @@
+package com.milko.service.impl;
+
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
+import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.exception.EntityNotFoundException;
+import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.GraphJsonMapper;
+import com.milko.mapper.StudentMapper;
+import com.milko.mapper.TeacherMapper;
+import com.milko.model.Course;
+import com.milko.repository.jdbc.JdbcCourseRepository;
+import com.milko.repository.jdbc.JdbcCourseStudentRepository;
+import com.milko.repository.jdbc.JdbcExecutor;
+import com.milko.repository.jdbc.JdbcStudentRepository;
+import com.milko.repository.jdbc.JdbcTeacherRepository;
+import com.milko.service.CourseService;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+@Slf4j
+@Singleton
+@Replaces(CourseServiceImpl.class)
+@Requires(property = "service.execution", value = "jdbc")
+@RequiredArgsConstructor
+public class JdbcCourseServiceImpl implements CourseService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
+    private final JdbcExecutor jdbc;
+    private final JdbcCourseRepository courseRepository;
+    private final JdbcStudentRepository studentRepository;
+    private final JdbcTeacherRepository teacherRepository;
+    private final JdbcCourseStudentRepository courseStudentRepository;
+    private final CourseMapper courseMapper;
+    private final StudentMapper studentMapper;
+    private final TeacherMapper teacherMapper;
+    private final GraphJsonMapper graphJsonMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+
+    @Override
+    public Mono<CourseDto> create(CourseDto dto) {
+        log.info("in create, dto = {}", dto);
+        Course course = courseMapper.toCourse(dto);
+        return jdbc.autocommit(connection -> courseRepository.save(connection, course))
+                .map(courseMapper::toCourseDto);
+    }
+
+    @Override
+    public Mono<CourseDto> update(CourseDto dto) {
+        log.info("in update, dto = {}", dto);
+        return jdbc.autocommit(connection -> courseRepository.patchGraphJsonById(connection, dto.getId(), dto.getTitle()).orElse(null))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + dto.getId() + " not found")))
+                .map(json -> graphJsonMapper.read(json, CourseDto.class))
+                .doOnNext(cacheInvalidator::evictCourse);
+    }
+
+    @Override
+    public Mono<CourseDto> findById(Long id) {
+        log.info("in findById, id = {}", id);
+        return entityCache.get(EntityCaches.COURSES, id, CourseDto.class, () -> jdbc.autocommit(connection -> courseRepository.findGraphJsonById(connection, id).orElse(null))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + id + " not found")))
+                .map(json -> graphJsonMapper.read(json, CourseDto.class)));
+    }
+
+    @Bulkhead(Bulkheads.BULK)
+    @Override
+    public Flux<CourseDto> findAll() {
+        log.info("in findAll");
+        return findBatchAfter(0L)
+                .expand(batch -> batch.size() < FIND_ALL_BATCH_SIZE
+                        ? Mono.empty()
+                        : findBatchAfter(batch.getLast().getId()))
+                .flatMapIterable(courseDtos -> courseDtos);
+    }
+
+    private Mono<List<CourseDto>> findBatchAfter(Long after) {
+        return jdbc.autocommit(connection -> buildCourseDtos(connection,
+                courseRepository.findAllAfterId(connection, after, FIND_ALL_BATCH_SIZE)));
+    }
+
+    @Bulkhead(Bulkheads.BULK)
+    @Override
+    public Mono<CursorPage<CourseDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+        return jdbc.snapshot(connection -> {
+            List<Course> courses = courseRepository.findAllAfterId(connection, after == null ? 0L : after, limit + 1);
+            boolean hasNext = courses.size() > limit;
+            List<Course> page = hasNext ? courses.subList(0, limit) : courses;
+            Long nextCursor = hasNext ? page.getLast().getId() : null;
+            return new CursorPage<>(buildCourseDtos(connection, page), nextCursor);
+        });
+    }
+
+    private List<CourseDto> buildCourseDtos(Connection connection, List<Course> courses) throws SQLException {
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        Long[] coursesId = courses.stream()
+                .map(Course::getId)
+                .toArray(Long[]::new);
+
+        return GraphAssembly.courses(courses,
+                teacherRepository.findAllByCourseIds(connection, coursesId),
+                studentRepository.findAllByCourseIds(connection, coursesId),
+                courseMapper, studentMapper, teacherMapper);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        log.info("in deleteById, id = {}", id);
+        return jdbc.autocommit(connection -> courseRepository.deleteById(connection, id))
+                .then(Mono.fromRunnable(() -> cacheInvalidator.courseDeleted(id)));
+    }
+
+    @Override
+    public Mono<List<EnrollmentItemDto>> enrollStudents(Long courseId, List<Long> studentIds) {
+        Long[] ids = EnrollmentResults.distinctIds(studentIds);
+        log.info("in enrollStudents, courseId = {}, students = {}", courseId, ids.length);
+        if (ids.length == 0) {
+            return jdbc.autocommit(connection -> courseRepository.findById(connection, courseId).orElse(null))
+                    .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found")))
+                    .thenReturn(List.of());
+        }
+        return jdbc.autocommit(connection -> courseStudentRepository.enrollStudentsInCourse(connection, courseId, ids))
+                .flatMap(views -> EnrollmentResults.collect(Flux.fromIterable(views),
+                        () -> new EntityNotFoundException("Course with ID " + courseId + " not found")))
+                .doOnNext(items -> {
+                    List<Long> enrolled = EnrollmentResults.enrolledIds(items);
+                    if (!enrolled.isEmpty()) {
+                        cacheInvalidator.evict(EntityCaches.COURSES, courseId);
+                        enrolled.forEach(studentId -> cacheInvalidator.evict(EntityCaches.STUDENTS, studentId));
+                    }
+                });
+    }
+
+    @Override
+    public Mono<CourseDto> setTeacherToCourse(Long courseId, Long teacherId) {
+        log.info("in setTeacherToCourse, courseId = {}, teacherId = {}", courseId, teacherId);
+        return jdbc.autocommit(connection -> courseRepository.assignTeacher(connection, courseId, teacherId))
+                .flatMap(result -> {
+                    if (!result.isTargetExists()) {
+                        return Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found"));
+                    }
+                    if (!result.isTeacherExists()) {
+                        return Mono.error(new EntityNotFoundException("Teacher with ID " + teacherId + " not found"));
+                    }
+                    cacheInvalidator.evict(EntityCaches.TEACHERS, result.getPreviousTeacherId());
+                    return jdbc.autocommit(connection -> courseRepository.findGraphJsonById(connection, courseId).orElse(null));
+                })
+                .map(json -> graphJsonMapper.read(json, CourseDto.class))
+                .doOnNext(cacheInvalidator::evictCourse);
+    }
+}
@@ -0,0 +1,207 @@
+package com.milko.service.impl;
+
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
+import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.StudentDto;
+import com.milko.dto.records.EnrollmentResult;
+import com.milko.exception.EntityNotFoundException;
+import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.GraphJsonMapper;
+import com.milko.mapper.StudentMapper;
+import com.milko.mapper.TeacherMapper;
+import com.milko.model.Course;
+import com.milko.model.Student;
+import com.milko.model.Teacher;
+import com.milko.repository.jdbc.JdbcCourseRepository;
+import com.milko.repository.jdbc.JdbcCourseStudentRepository;
+import com.milko.repository.jdbc.JdbcExecutor;
+import com.milko.repository.jdbc.JdbcStudentRepository;
+import com.milko.repository.jdbc.JdbcTeacherRepository;
+import com.milko.service.StudentService;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Singleton
+@Replaces(StudentServiceImpl.class)
+@Requires(property = "service.execution", value = "jdbc")
+@RequiredArgsConstructor
+public class JdbcStudentServiceImpl implements StudentService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
+    private final JdbcExecutor jdbc;
+    private final JdbcStudentRepository studentRepository;
+    private final JdbcCourseRepository courseRepository;
+    private final JdbcTeacherRepository teacherRepository;
+    private final JdbcCourseStudentRepository courseStudentRepository;
+    private final StudentMapper studentMapper;
+    private final CourseMapper courseMapper;
+    private final TeacherMapper teacherMapper;
+    private final GraphJsonMapper graphJsonMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+
+    @Override
+    public Mono<StudentDto> create(StudentDto dto) {
+        log.info("in create, dto = {}", dto);
+        Student student = studentMapper.toStudent(dto);
+        return jdbc.autocommit(connection -> studentRepository.save(connection, student))
+                .map(studentMapper::toStudentDto);
+    }
+
+    @Bulkhead(Bulkheads.BULK)
+    @Override
+    public Flux<StudentDto> findAll() {
+        log.info("in findAll");
+        return findBatchAfter(0L)
+                .expand(batch -> batch.size() < FIND_ALL_BATCH_SIZE
+                        ? Mono.empty()
+                        : findBatchAfter(batch.getLast().getId()))
+                .flatMapIterable(studentDtos -> studentDtos);
+    }
+
+    private Mono<List<StudentDto>> findBatchAfter(Long after) {
+        return jdbc.autocommit(connection -> buildStudentDtos(connection,
+                studentRepository.findAllAfterId(connection, after, FIND_ALL_BATCH_SIZE)));
+    }
+
+    @Bulkhead(Bulkheads.BULK)
+    @Override
+    public Mono<CursorPage<StudentDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+        return jdbc.snapshot(connection -> {
+            List<Student> students = studentRepository.findAllAfterId(connection, after == null ? 0L : after, limit + 1);
+            boolean hasNext = students.size() > limit;
+            List<Student> page = hasNext ? students.subList(0, limit) : students;
+            Long nextCursor = hasNext ? page.getLast().getId() : null;
+            return new CursorPage<>(buildStudentDtos(connection, page), nextCursor);
+        });
+    }
+
+    private List<StudentDto> buildStudentDtos(Connection connection, List<Student> students) throws SQLException {
+        if (students.isEmpty()) {
+            return List.of();
+        }
+        Long[] studentsId = students.stream()
+                .map(Student::getId)
+                .toArray(Long[]::new);
+
+        Map<Long, List<Course>> coursesByStudentId = GraphAssembly.coursesByStudentId(
+                courseRepository.findAllByStudentIds(connection, studentsId), courseMapper);
+        Long[] coursesId = GraphAssembly.courseIds(coursesByStudentId).toArray(Long[]::new);
+
+        return GraphAssembly.students(students, coursesByStudentId,
+                teacherRepository.findAllByCourseIds(connection, coursesId),
+                studentMapper, courseMapper, teacherMapper);
+    }
+
+    @Override
+    public Mono<StudentDto> findById(Long id) {
+        return entityCache.get(EntityCaches.STUDENTS, id, StudentDto.class, () -> jdbc.autocommit(connection -> studentRepository.findGraphJsonById(connection, id).orElse(null))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + id + " not found")))
+                .map(json -> graphJsonMapper.read(json, StudentDto.class)));
+    }
+
+    @Override
+    public Flux<CourseDto> findAllCoursesByStudentId(Long id) {
+        log.info("in findAllCoursesByStudentId, id = {}", id);
+        return jdbc.autocommit(connection -> {
+                    List<Course> courses = courseRepository.findAllByStudentId(connection, id);
+                    Long[] teacherIds = courses.stream()
+                            .map(Course::getTeacherId)
+                            .filter(Objects::nonNull)
+                            .distinct()
+                            .toArray(Long[]::new);
+                    Map<Long, Teacher> teacherMap = teacherIds.length == 0
+                            ? Map.of()
+                            : teacherRepository.findAllByIds(connection, teacherIds).stream()
+                                    .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+                    return courses.stream()
+                            .map(course -> teacherMap.containsKey(course.getTeacherId())
+                                    ? buildCourseDtoWithTeacher(course, teacherMap.get(course.getTeacherId()))
+                                    : courseMapper.toCourseDto(course))
+                            .toList();
+                })
+                .flatMapIterable(courseDtos -> courseDtos);
+    }
+
+    private CourseDto buildCourseDtoWithTeacher(Course course, Teacher teacher) {
+        CourseDto courseDto = courseMapper.toCourseDto(course);
+        courseDto.setTeacher(teacherMapper.toTeacherDto(teacher));
+        return courseDto;
+    }
+
+    @Override
+    public Mono<StudentDto> update(StudentDto dto) {
+        log.info("in update, dto = {}", dto);
+        return jdbc.autocommit(connection -> studentRepository.patchGraphJsonById(connection, dto.getId(), dto.getName(), dto.getEmail()).orElse(null))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + dto.getId() + " not found")))
+                .map(json -> graphJsonMapper.read(json, StudentDto.class))
+                .doOnNext(cacheInvalidator::evictStudent);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        log.info("in deleteById, id = {}", id);
+        return jdbc.autocommit(connection -> studentRepository.deleteById(connection, id))
+                .then(Mono.fromRunnable(() -> cacheInvalidator.studentDeleted(id)));
+    }
+
+    @Override
+    public Mono<StudentDto> addCourseToStudent(Long studentId, Long courseId) {
+        log.info("in addCourseToStudent, studentId = {}, courseId = {}", studentId, courseId);
+        return jdbc.autocommit(connection -> {
+                    EnrollmentResult result = courseStudentRepository.enroll(connection, studentId, courseId);
+                    if (!result.isStudentExists()) {
+                        throw new EntityNotFoundException("Student with ID " + studentId + " not found");
+                    }
+                    if (!result.isCourseExists()) {
+                        throw new EntityNotFoundException("Course with ID " + courseId + " not found");
+                    }
+                    return studentRepository.findGraphJsonById(connection, studentId).orElse(null);
+                })
+                .map(json -> graphJsonMapper.read(json, StudentDto.class))
+                .doOnNext(cacheInvalidator::evictStudent);
+    }
+
+    @Override
+    public Mono<List<EnrollmentItemDto>> enrollInCourses(Long studentId, List<Long> courseIds) {
+        Long[] ids = EnrollmentResults.distinctIds(courseIds);
+        log.info("in enrollInCourses, studentId = {}, courses = {}", studentId, ids.length);
+        if (ids.length == 0) {
+            return jdbc.autocommit(connection -> studentRepository.findById(connection, studentId).orElse(null))
+                    .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found")))
+                    .thenReturn(List.of());
+        }
+        return jdbc.autocommit(connection -> courseStudentRepository.enrollStudentInCourses(connection, studentId, ids))
+                .flatMap(views -> EnrollmentResults.collect(Flux.fromIterable(views),
+                        () -> new EntityNotFoundException("Student with ID " + studentId + " not found")))
+                .doOnNext(items -> {
+                    List<Long> enrolled = EnrollmentResults.enrolledIds(items);
+                    if (!enrolled.isEmpty()) {
+                        cacheInvalidator.evict(EntityCaches.STUDENTS, studentId);
+                        enrolled.forEach(courseId -> cacheInvalidator.evict(EntityCaches.COURSES, courseId));
+                    }
+                });
+    }
+}
@@ -1,37 +1,47 @@
 package com.milko.service.impl;
 
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
 import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
 import com.milko.dto.StudentDto;
 import com.milko.dto.TeacherDto;
-import com.milko.dto.records.StudentCoursesView;
 import com.milko.exception.EntityNotFoundException;
 import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphAssembly;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.StudentMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Course;
-import com.milko.model.CourseStudent;
 import com.milko.model.Student;
 import com.milko.model.Teacher;
 import com.milko.repository.CourseRepository;
 import com.milko.repository.CourseStudentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.StudentRepository;
 import com.milko.repository.TeacherRepository;
+import com.milko.repository.routing.ReplicaRead;
 import com.milko.service.StudentService;
+import com.milko.service.transaction.SnapshotRead;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final TeacherRepository teacherRepository;
@@ -39,6 +49,10 @@ public class StudentServiceImpl implements StudentService {
     private final StudentMapper studentMapper;
     private final CourseMapper courseMapper;
     private final TeacherMapper teacherMapper;
+    private final GraphJsonMapper graphJsonMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+    private final IdChunks idChunks;
 
     @Override
     public Mono<StudentDto> create(StudentDto dto) {
@@ -48,71 +62,82 @@ public class StudentServiceImpl implements StudentService {
                 .map(studentMapper::toStudentDto);
     }
 
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
     @Override
     public Flux<StudentDto> findAll() {
         log.info("in findAll");
         return studentRepository.findAll()
+                .buffer(FIND_ALL_BATCH_SIZE)
+                .concatMap(this::buildStudentDtos, 1)
+                .flatMapIterable(studentDtos -> studentDtos);
+    }
+
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
+    @SnapshotRead
+    @Override
+    public Mono<CursorPage<StudentDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+        return studentRepository.findAllAfterId(after == null ? 0L : after, limit + 1)
                 .collectList()
-                .switchIfEmpty(Mono.defer(() -> Mono.just(List.of())))
                 .flatMap(students -> {
-                    List<Long> studentsId = students.stream()
-                            .map(Student::getId)
-                            .toList();
-                    return courseRepository.findAllByStudentsIdList(studentsId)
+                    if (students.isEmpty()) {
+                        return Mono.just(new CursorPage<StudentDto>(List.of(), null));
+                    }
+                    boolean hasNext = students.size() > limit;
+                    List<Student> page = hasNext ? students.subList(0, limit) : students;
+                    Long nextCursor = hasNext ? page.getLast().getId() : null;
+
+                    return buildStudentDtos(page)
+                            .map(studentDtos -> new CursorPage<>(studentDtos, nextCursor));
+                });
+    }
+
+    private Mono<List<StudentDto>> buildStudentDtos(List<Student> students) {
+        List<Long> studentsId = students.stream()
+                .map(Student::getId)
+                .toList();
+        return idChunks.query(studentsId, courseRepository::findAllByStudentIdArray)
+                .collectList()
+                .switchIfEmpty(Mono.defer(() -> Mono.just(List.of())))
+                .flatMap(courseViews -> {
+                    Map<Long, List<Course>> coursesByStudentId = GraphAssembly.coursesByStudentId(courseViews, courseMapper);
+
+                    return idChunks.query(GraphAssembly.courseIds(coursesByStudentId), teacherRepository::findAllByCourseIdArray)
+                            .distinct(Teacher::getId)
                             .collectList()
                             .switchIfEmpty(Mono.defer(() -> Mono.just(List.of())))
-                            .flatMap(courseViews -> {
-                                Map<Long, List<Course>> coursesByStudentId = courseViews.stream()
-                                        .collect(Collectors.groupingBy(StudentCoursesView::getStudentId,
-                                                Collectors.mapping(courseMapper::toCourse, Collectors.toList())));
-
-                                List<Long> coursesId = coursesByStudentId.values().stream()
-                                        .flatMap(courses -> courses.stream().map(Course::getTeacherId))
-                                        .toList();
-
-                                return teacherRepository.findAllByCoursesIdList(coursesId)
-                                        .collectList()
-                                        .switchIfEmpty(Mono.defer(() -> Mono.just(List.of())))
-                                        .flatMap(teachers -> {
-                                            Map<Long, Teacher> teacherMap = teachers.stream()
-                                                    .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
-
-                                            List<StudentDto> studentDtos = students.stream()
-                                                    .map(student -> {
-                                                        StudentDto studentDto = studentMapper.toStudentDto(student);
-                                                        List<CourseDto> courseDtos = coursesByStudentId.getOrDefault(student.getId(), List.of()).stream()
-                                                                .map(course -> {
-                                                                    CourseDto courseDto = courseMapper.toCourseDto(course);
-                                                                    Teacher teacher = teacherMap.get(course.getTeacherId());
-                                                                    TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
-                                                                    courseDto.setTeacher(teacherDto);
-                                                                    return courseDto;
-                                                                }).toList();
-                                                        studentDto.setCourses(courseDtos);
-                                                        return studentDto;
-                                                    }).toList();
-                                            return Mono.just(studentDtos);
-                                        });
-                            });
-                }).flatMapMany(Flux::fromIterable);
+                            .map(teachers -> GraphAssembly.students(students, coursesByStudentId, teachers,
+                                    studentMapper, courseMapper, teacherMapper));
+                });
     }
 
     @Override
     public Mono<StudentDto> findById(Long id) {
-        return studentRepository.findById(id)
+        return entityCache.get(EntityCaches.STUDENTS, id, StudentDto.class, () -> studentRepository.findGraphJsonById(id)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + id + " not found")))
-                .flatMap(this::fetchRelatedEntitiesForStudent)
-                .map(this::buildStudentDto);
+                .map(json -> graphJsonMapper.read(json, StudentDto.class)));
     }
 
 
+    @ReplicaRead
     @Override
     public Flux<CourseDto> findAllCoursesByStudentId(Long id) {
         log.info("in findAllCoursesByStudentId, id = {}", id);
         return courseRepository.findAllByStudentId(id)
-                .flatMap(course -> teacherRepository.findByCourseId(course.getId())
-                        .map(teacher -> buildCourseDtoWithTeacher(course, teacher))
-                        .switchIfEmpty(Mono.just(courseMapper.toCourseDto(course))));
+                .collectList()
+                .flatMapMany(courses -> idChunks.query(courses.stream().map(Course::getTeacherId).toList(),
+                                teacherRepository::findAllByIdArray)
+                        .collectMap(Teacher::getId)
+                        .flatMapIterable(teachers -> courses.stream()
+                                .map(course -> {
+                                    Teacher teacher = teachers.get(course.getTeacherId());
+                                    return teacher == null
+                                            ? courseMapper.toCourseDto(course)
+                                            : buildCourseDtoWithTeacher(course, teacher);
+                                })
+                                .toList()));
     }
 
     private CourseDto buildCourseDtoWithTeacher(Course course, Teacher teacher) {
@@ -125,56 +150,54 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Mono<StudentDto> update(StudentDto dto) {
         log.info("in update, dto = {}", dto);
-        return studentRepository.findById(dto.getId())
-                        .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + dto.getId() + " not found")))
-                        .flatMap(student -> {
-                            studentMapper.updateFromDto(dto, student);
-                            return studentRepository.update(student);
-                        }).flatMap(this::fetchRelatedEntitiesForStudent)
-                        .map(this::buildStudentDto);
+        return studentRepository.patchGraphJsonById(dto.getId(), dto.getName(), dto.getEmail())
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + dto.getId() + " not found")))
+                .map(json -> graphJsonMapper.read(json, StudentDto.class))
+                .doOnNext(cacheInvalidator::evictStudent);
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
         log.info("in deleteById, id = {}", id);
         return studentRepository.deleteById(id)
-                .then();
+                .then(Mono.fromRunnable(() -> cacheInvalidator.studentDeleted(id)));
     }
 
     @Override
     public Mono<StudentDto> addCourseToStudent(Long studentId, Long courseId) {
         log.info("in addCourseToStudent, studentId = {}, courseId = {}", studentId, courseId);
-        Mono<Student> studentMono = studentRepository.findById(studentId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found")));
-        Mono<Course> courseMono = courseRepository.findById(courseId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found")));
-
-        return Mono.zip(studentMono, courseMono)
-                .flatMap(tuple -> {
-                    Student student = tuple.getT1();
-                    return courseStudentRepository.save(new CourseStudent(courseId, studentId))
-                            .thenReturn(student)
-                            .flatMap(this::fetchRelatedEntitiesForStudent)
-                            .map(this::buildStudentDto);
-                });
+        return courseStudentRepository.enroll(studentId, courseId)
+                .flatMap(result -> {
+                    if (!result.isStudentExists()) {
+                        return Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found"));
+                    }
+                    if (!result.isCourseExists()) {
+                        return Mono.error(new EntityNotFoundException("Course with ID " + courseId + " not found"));
+                    }
+                    return studentRepository.findGraphJsonById(studentId);
+                })
+                .map(json -> graphJsonMapper.read(json, StudentDto.class))
+                .doOnNext(cacheInvalidator::evictStudent);
     }
 
-    private Mono<Tuple2<Student, List<Course>>> fetchRelatedEntitiesForStudent(Student student) {
-        return Mono.zip(
-                Mono.just(student),
-                courseRepository.findAllByStudentId(student.getId()).collectList()
-        );
+    @Override
+    public Mono<List<EnrollmentItemDto>> enrollInCourses(Long studentId, List<Long> courseIds) {
+        Long[] ids = EnrollmentResults.distinctIds(courseIds);
+        log.info("in enrollInCourses, studentId = {}, courses = {}", studentId, ids.length);
+        if (ids.length == 0) {
+            return studentRepository.findById(studentId)
+                    .switchIfEmpty(Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found")))
+                    .thenReturn(List.of());
+        }
+        return EnrollmentResults.collect(courseStudentRepository.enrollStudentInCourses(studentId, ids),
+                        () -> new EntityNotFoundException("Student with ID " + studentId + " not found"))
+                .doOnNext(items -> {
+                    List<Long> enrolled = EnrollmentResults.enrolledIds(items);
+                    if (!enrolled.isEmpty()) {
+                        cacheInvalidator.evict(EntityCaches.STUDENTS, studentId);
+                        enrolled.forEach(courseId -> cacheInvalidator.evict(EntityCaches.COURSES, courseId));
+                    }
+                });
     }
 
-    private StudentDto buildStudentDto(Tuple2<Student, List<Course>> tuple) {
-        Student student = tuple.getT1();
-        List<Course> courses = tuple.getT2();
-
-        StudentDto studentDto = studentMapper.toStudentDto(student);
-        List<CourseDto> courseDtos = courses.stream()
-                .map(courseMapper::toCourseDto)
-                .collect(Collectors.toList());
-        studentDto.setCourses(courseDtos);
-        return studentDto;
-    }
 }
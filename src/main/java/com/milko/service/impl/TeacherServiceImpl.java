@@ -1,26 +1,30 @@
 package com.milko.service.impl;
 
-import com.milko.dto.CourseDto;
+import com.milko.bulkhead.Bulkhead;
+import com.milko.bulkhead.Bulkheads;
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
+import com.milko.dto.CursorPage;
 import com.milko.dto.DepartmentDto;
 import com.milko.dto.TeacherDto;
 import com.milko.exception.EntityNotFoundException;
-import com.milko.mapper.CourseMapper;
 import com.milko.mapper.DepartmentMapper;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.TeacherMapper;
-import com.milko.model.Course;
 import com.milko.model.Department;
 import com.milko.model.Teacher;
-import com.milko.repository.CourseRepository;
 import com.milko.repository.DepartmentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.TeacherRepository;
+import com.milko.repository.routing.ReplicaRead;
 import com.milko.service.TeacherService;
+import com.milko.service.transaction.SnapshotRead;
 import jakarta.inject.Singleton;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple3;
 
 import java.util.Collections;
 import java.util.List;
@@ -32,12 +36,16 @@ import java.util.stream.Collectors;
 @Singleton
 @RequiredArgsConstructor
 public class TeacherServiceImpl implements TeacherService {
+    private static final int FIND_ALL_BATCH_SIZE = 500;
+
     private final TeacherRepository teacherRepository;
     private final DepartmentRepository departmentRepository;
-    private final CourseRepository courseRepository;
     private final TeacherMapper teacherMapper;
     private final DepartmentMapper departmentMapper;
-    private final CourseMapper courseMapper;
+    private final GraphJsonMapper graphJsonMapper;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final EntityCache entityCache;
+    private final IdChunks idChunks;
 
     @Override
     public Mono<TeacherDto> create(TeacherDto dto) {
@@ -47,95 +55,84 @@ public class TeacherServiceImpl implements TeacherService {
                 .map(teacherMapper::toTeacherDto);
     }
 
-    @Transactional
     @Override
     public Mono<TeacherDto> update(TeacherDto dto) {
         log.info("in update, dto = {}", dto);
-        return teacherRepository.findById(dto.getId())
+        return teacherRepository.patchGraphJsonById(dto.getId(), dto.getName())
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Teacher with ID " + dto.getId() + " not found")))
-                .flatMap(teacher -> {
-                    teacherMapper.updateFromDto(dto, teacher);
-                    return teacherRepository.update(teacher);
-                })
-                .flatMap(this::fetchRelatedEntitiesForTeacher)
-                .map(this::buildTeacherDto);
+                .map(json -> graphJsonMapper.read(json, TeacherDto.class))
+                .doOnNext(cacheInvalidator::evictTeacher);
     }
 
-    @Transactional
     @Override
     public Mono<TeacherDto> findById(Long id) {
         log.info("in findById, id = {}", id);
-        return teacherRepository.findById(id)
+        return entityCache.get(EntityCaches.TEACHERS, id, TeacherDto.class, () -> teacherRepository.findGraphJsonById(id)
                 .switchIfEmpty(Mono.error(new EntityNotFoundException("Teacher with ID " + id + " not found")))
-                .flatMap(this::fetchRelatedEntitiesForTeacher)
-                .map(this::buildTeacherDto);
+                .map(json -> graphJsonMapper.read(json, TeacherDto.class)));
     }
 
-    @Transactional
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
     @Override
     public Flux<TeacherDto> findAll() {
         log.info("in findAll");
 
         return teacherRepository.findAll()
+                .buffer(FIND_ALL_BATCH_SIZE)
+                .concatMap(this::buildTeacherDtos, 1)
+                .flatMapIterable(teacherDtos -> teacherDtos);
+    }
+
+    @ReplicaRead
+    @Bulkhead(Bulkheads.BULK)
+    @SnapshotRead
+    @Override
+    public Mono<CursorPage<TeacherDto>> findPage(Long after, int limit) {
+        log.info("in findPage, after = {}, limit = {}", after, limit);
+
+        return teacherRepository.findAllAfterId(after == null ? 0L : after, limit + 1)
                 .collectList()
                 .flatMap(teachers -> {
-                    List<Long> teachersId = teachers.stream()
-                            .map(Teacher::getId)
-                            .toList();
-                    return departmentRepository.findAllByHeadOfDepartmentIds(teachersId)
-                            .collectList()
-                            .flatMap(departments -> {
-                                Map<Long, Department> departmentMap = departments.stream()
-                                        .collect(Collectors.toMap(Department::getHeadOfDepartmentId, department -> department));
-
-                                List<TeacherDto> teacherDtos = teachers.stream()
-                                        .map(teacher -> {
-                                            TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
-                                            Department department = departmentMap.get(teacher.getId());
-                                            DepartmentDto departmentDto = department == null ? null : departmentMapper.toDepartmentDto(department);
-                                            teacherDto.setDepartment(departmentDto);
-                                            return teacherDto;
-                                        }).toList();
-                                return Mono.just(teacherDtos);
-                            });
-                }).flatMapMany(Flux::fromIterable);
+                    if (teachers.isEmpty()) {
+                        return Mono.just(new CursorPage<TeacherDto>(List.of(), null));
+                    }
+                    boolean hasNext = teachers.size() > limit;
+                    List<Teacher> page = hasNext ? teachers.subList(0, limit) : teachers;
+                    Long nextCursor = hasNext ? page.getLast().getId() : null;
+
+                    return buildTeacherDtos(page)
+                            .map(teacherDtos -> new CursorPage<>(teacherDtos, nextCursor));
+                });
+    }
+
+    private Mono<List<TeacherDto>> buildTeacherDtos(List<Teacher> teachers) {
+        List<Long> teachersId = teachers.stream()
+                .map(Teacher::getId)
+                .toList();
+
+        return idChunks.query(teachersId, departmentRepository::findAllByHeadOfDepartmentIdArray)
+                .collectList()
+                .map(departments -> {
+                    Map<Long, Department> departmentMap = departments.stream()
+                            .collect(Collectors.toMap(Department::getHeadOfDepartmentId, department -> department));
+
+                    return teachers.stream()
+                            .map(teacher -> {
+                                TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
+                                Department department = departmentMap.get(teacher.getId());
+                                DepartmentDto departmentDto = department == null ? null : departmentMapper.toDepartmentDto(department);
+                                teacherDto.setDepartment(departmentDto);
+                                return teacherDto;
+                            }).toList();
+                });
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
         log.info("in deleteById, id = {}", id);
         return teacherRepository.deleteById(id)
-                .then();
+                .then(Mono.fromRunnable(() -> cacheInvalidator.teacherDeleted(id)));
     }
 
-    private Mono<Tuple3<Teacher, Department, List<Course>>> fetchRelatedEntitiesForTeacher(Teacher teacher) {
-        Mono<Department> departmentMono = departmentRepository.findByHeadOfDepartmentId(teacher.getId())
-                .defaultIfEmpty(new Department());
-
-        Mono<List<Course>> coursesMono = courseRepository.findAllByTeacherId(teacher.getId())
-                .collectList();
-
-        return Mono.zip(
-                Mono.just(teacher),
-                departmentMono,
-                coursesMono
-        );
-    }
-
-
-    private TeacherDto buildTeacherDto(Tuple3<Teacher, Department, List<Course>> tuple) {
-        Teacher teacher = tuple.getT1();
-        Department department = tuple.getT2();
-        List<Course> courses = tuple.getT3();
-
-        TeacherDto teacherDto = teacherMapper.toTeacherDto(teacher);
-        DepartmentDto departmentDto = departmentMapper.toDepartmentDto(department);
-        List<CourseDto> courseDtos = courses.stream()
-                .map(courseMapper::toCourseDto)
-                .collect(Collectors.toList());
-
-        teacherDto.setDepartment(departmentDto);
-        teacherDto.setCourses(courseDtos);
-        return teacherDto;
-    }
 }
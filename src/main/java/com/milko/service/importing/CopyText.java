@@ -0,0 +1,44 @@
+package com.milko.service.importing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public final class CopyText {
+    private static final String NULL = "\\N";
+
+    private CopyText() {
+    }
+
+    public static String row(List<String> values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append('\t');
+            }
+            appendEscaped(row, values.get(i));
+        }
+        return row.append('\n').toString();
+    }
+
+    public static ByteBuffer encode(List<String> rows) {
+        return ByteBuffer.wrap(String.join("", rows).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendEscaped(StringBuilder row, String value) {
+        if (value == null) {
+            row.append(NULL);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.milko.service.importing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvLines {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private CsvLines() {
+    }
+
+    public static Flux<String> lines(Flux<byte[]> chunks) {
+        return Flux.defer(() -> {
+            ByteArrayOutputStream pending = new ByteArrayOutputStream();
+            return chunks.concatMapIterable(chunk -> split(chunk, pending))
+                    .concatWith(Mono.fromSupplier(() -> pending.size() == 0 ? null : decode(pending)));
+        });
+    }
+
+    public static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static List<String> split(byte[] chunk, ByteArrayOutputStream pending) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            if (chunk[i] == '\n') {
+                pending.write(chunk, start, i - start);
+                lines.add(decode(pending));
+                start = i + 1;
+            }
+        }
+        pending.write(chunk, start, chunk.length - start);
+        return lines;
+    }
+
+    private static String decode(ByteArrayOutputStream pending) {
+        String line = pending.toString(StandardCharsets.UTF_8);
+        pending.reset();
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}
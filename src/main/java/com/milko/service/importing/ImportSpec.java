@@ -0,0 +1,25 @@
+package com.milko.service.importing;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record ImportSpec(String entity,
+                         String stagingTable,
+                         List<String> columns,
+                         String columnDefinitions,
+                         Function<List<String>, List<String>> rowMapper,
+                         String rejectSql,
+                         String insertSql) {
+
+    public String createStagingSql() {
+        return "CREATE TEMP TABLE " + stagingTable + " (line_no bigint, " + columnDefinitions + ") ON COMMIT DROP";
+    }
+
+    public String copySql() {
+        return "COPY " + stagingTable + " (line_no, " + String.join(", ", columns) + ") FROM STDIN";
+    }
+
+    public boolean isHeader(List<String> fields) {
+        return fields.equals(columns);
+    }
+}
@@ -0,0 +1,97 @@
+package com.milko.service.importing;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class ImportSpecs {
+
+    public static final ImportSpec STUDENTS = new ImportSpec(
+            "students",
+            "import_students",
+            List.of("name", "email"),
+            "name text, email text",
+            fields -> {
+                requireFieldCount(fields, 2);
+                String name = requireNotBlank(fields.get(0), "name");
+                String email = requireNotBlank(fields.get(1), "email");
+                if (!email.contains("@")) {
+                    throw new IllegalArgumentException("email is not valid");
+                }
+                return List.of(name, email);
+            },
+            null,
+            """
+            INSERT INTO students (name, email)
+            SELECT name, email FROM import_students
+            ORDER BY line_no
+            ON CONFLICT DO NOTHING
+            """);
+
+    public static final ImportSpec TEACHERS = new ImportSpec(
+            "teachers",
+            "import_teachers",
+            List.of("name"),
+            "name text",
+            fields -> {
+                requireFieldCount(fields, 1);
+                return List.of(requireNotBlank(fields.get(0), "name"));
+            },
+            null,
+            """
+            INSERT INTO teachers (name)
+            SELECT name FROM import_teachers
+            ORDER BY line_no
+            """);
+
+    public static final ImportSpec COURSES = new ImportSpec(
+            "courses",
+            "import_courses",
+            List.of("title", "teacher_id"),
+            "title text, teacher_id bigint",
+            fields -> {
+                if (fields.size() != 1 && fields.size() != 2) {
+                    throw new IllegalArgumentException("expected 1 or 2 fields but got " + fields.size());
+                }
+                String title = requireNotBlank(fields.get(0), "title");
+                String teacherId = fields.size() == 2 && !fields.get(1).isEmpty() ? fields.get(1) : null;
+                if (teacherId != null) {
+                    try {
+                        Long.parseLong(teacherId);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("teacher_id is not a number");
+                    }
+                }
+                return Arrays.asList(title, teacherId);
+            },
+            """
+            SELECT i.line_no, 'Teacher with ID ' || i.teacher_id || ' not found' AS message
+            FROM import_courses i
+            WHERE i.teacher_id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM teachers t WHERE t.id = i.teacher_id)
+            ORDER BY i.line_no
+            """,
+            """
+            INSERT INTO courses (title, teacher_id)
+            SELECT i.title, i.teacher_id FROM import_courses i
+            WHERE i.teacher_id IS NULL
+               OR EXISTS (SELECT 1 FROM teachers t WHERE t.id = i.teacher_id)
+            ORDER BY i.line_no
+            ON CONFLICT DO NOTHING
+            """);
+
+    private ImportSpecs() {
+    }
+
+    private static void requireFieldCount(List<String> fields, int expected) {
+        if (fields.size() != expected) {
+            throw new IllegalArgumentException("expected " + expected + " fields but got " + fields.size());
+        }
+    }
+
+    private static String requireNotBlank(String value, String column) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException(column + " must not be blank");
+        }
+        return value;
+    }
+}
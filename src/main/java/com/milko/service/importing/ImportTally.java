@@ -0,0 +1,39 @@
+package com.milko.service.importing;
+
+import com.milko.dto.ImportReportDto;
+import com.milko.dto.ImportRowErrorDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportTally {
+    private final int maxReportedErrors;
+    private final List<ImportRowErrorDto> errors = new ArrayList<>();
+    private long received;
+    private long rejected;
+
+    public ImportTally(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public synchronized void received() {
+        received++;
+    }
+
+    public synchronized void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportRowErrorDto(line, message));
+        }
+    }
+
+    public synchronized ImportReportDto toReport(long copied, long rejectedOnLoad, long inserted) {
+        return ImportReportDto.builder()
+                .received(received)
+                .inserted(inserted)
+                .skipped(copied - rejectedOnLoad - inserted)
+                .rejected(rejected)
+                .errors(List.copyOf(errors))
+                .build();
+    }
+}
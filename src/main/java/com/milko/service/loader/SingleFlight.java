@@ -0,0 +1,83 @@
+package com.milko.service.loader;
+
+import com.milko.repository.routing.DatasourceRouting;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Slf4j
+@Singleton
+public class SingleFlight {
+    private final Map<Key, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String type, Object id, Supplier<Mono<T>> call) {
+        return Mono.deferContextual(context -> {
+            requests.increment();
+            Key key = Key.of(type, id, context);
+            return (Mono<T>) inFlight.computeIfAbsent(key, k -> start(k, call));
+        });
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public double getCoalescingRatio() {
+        long total = requests.sum();
+        return total == 0 ? 0.0 : 1.0 - (double) executions.sum() / total;
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private <T> Mono<T> start(Key key, Supplier<Mono<T>> call) {
+        executions.increment();
+        log.debug("in start, key = {}", key);
+        Mono<T>[] shared = new Mono[1];
+        shared[0] = Mono.defer(call)
+                .contextWrite(ctx -> key.routing())
+                .doFinally(signal -> inFlight.remove(key, shared[0]))
+                .cache();
+        return shared[0];
+    }
+
+    /**
+     * Calls routed to different datasources, or to the replica with different read tokens, may not see the same rows,
+     * so they never share a result. The shared load runs with only this routing as its context rather than whichever
+     * subscriber arrived first, so it never joins that caller's transaction.
+     */
+    private record Key(String type, Object id, String datasource, Long minLsn) {
+
+        static Key of(String type, Object id, ContextView context) {
+            return new Key(type, id,
+                    context.<String>getOrEmpty(DatasourceRouting.DATASOURCE_KEY).orElse(null),
+                    context.<Long>getOrEmpty(DatasourceRouting.REPLICA_MIN_LSN_KEY).orElse(null));
+        }
+
+        Context routing() {
+            Context context = Context.empty();
+            if (datasource != null) {
+                context = context.put(DatasourceRouting.DATASOURCE_KEY, datasource);
+            }
+            if (minLsn != null) {
+                context = context.put(DatasourceRouting.REPLICA_MIN_LSN_KEY, minLsn);
+            }
+            return context;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.milko.service.transaction;
+
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A multi-statement read whose results must come from one snapshot, such as a page and the relations loaded for
+ * it. It runs as a single {@code BEGIN ISOLATION LEVEL REPEATABLE READ READ ONLY} transaction on one connection.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Transactional(readOnly = true, isolation = TransactionDefinition.Isolation.REPEATABLE_READ)
+public @interface SnapshotRead {
+}
@@ -0,0 +1,18 @@
+DELETE FROM course_student
+WHERE course_id IS NULL
+   OR student_id IS NULL;
+
+DELETE FROM course_student cs
+USING course_student duplicate
+WHERE cs.course_id = duplicate.course_id
+  AND cs.student_id = duplicate.student_id
+  AND cs.id > duplicate.id;
+
+ALTER TABLE course_student
+    ALTER COLUMN course_id SET NOT NULL,
+    ALTER COLUMN student_id SET NOT NULL,
+    ADD CONSTRAINT course_student_course_id_student_id_key UNIQUE (course_id, student_id);
+
+CREATE INDEX course_student_student_id_course_id_idx ON course_student (student_id, course_id);
+
+CREATE INDEX courses_teacher_id_idx ON courses (teacher_id);
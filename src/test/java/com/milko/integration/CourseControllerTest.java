@@ -1,22 +1,38 @@
 package com.milko.integration;
 
 import com.milko.dto.CourseDto;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.EnrollmentStatus;
+import com.milko.dto.IdListDto;
+import com.milko.dto.StudentDto;
 import com.milko.dto.TeacherDto;
 import com.milko.exceptionhandling.ErrorResponse;
 import com.milko.integration.utils.DatabaseCleaner;
+import com.milko.metrics.ConnectionPoolMonitor;
+import com.milko.metrics.RepositoryMetricsInterceptor;
+import com.milko.rest.NdjsonEncoder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.reactor.http.client.ReactorHttpClient;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +43,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @MicronautTest(environments = "test")
 public class CourseControllerTest {
     private final DatabaseCleaner cleaner;
+    private final ConnectionFactory connectionFactory;
+    private final MeterRegistry meterRegistry;
 
     @Inject
     @Client("/")
@@ -46,6 +64,7 @@ public class CourseControllerTest {
 
     private final String coursesPath = "/api/v1/courses";
     private final String teachersPath = "/api/v1/teachers";
+    private final String studentsPath = "/api/v1/students";
 
     @BeforeEach
     public void cleanDataBase() {
@@ -123,6 +142,50 @@ public class CourseControllerTest {
         assertTrue(courses.isEmpty());
     }
 
+    @Test
+    void getAllShouldReturnPageWithNextCursorTest() {
+        Long firstId = client.exchange(HttpRequest.POST(coursesPath, course), CourseDto.class).block().body().getId();
+        client.exchange(HttpRequest.POST(coursesPath, courseToUpdate), CourseDto.class).block();
+
+        HttpResponse<List<CourseDto>> firstPage = client.exchange(
+                HttpRequest.GET(coursesPath + "?limit=1"),
+                Argument.listOf(CourseDto.class)
+        ).block();
+
+        assertNotNull(firstPage);
+        assertEquals(HttpStatus.OK.getCode(), firstPage.getStatus().getCode());
+        assertEquals(1, firstPage.body().size());
+        assertEquals(String.valueOf(firstId), firstPage.getHeaders().get("X-Next-Cursor"));
+
+        HttpResponse<List<CourseDto>> secondPage = client.exchange(
+                HttpRequest.GET(coursesPath + "?limit=1&after=" + firstId),
+                Argument.listOf(CourseDto.class)
+        ).block();
+
+        assertNotNull(secondPage);
+        assertEquals(1, secondPage.body().size());
+        assertEquals(courseToUpdate.getTitle(), secondPage.body().getFirst().getTitle());
+        assertNull(secondPage.getHeaders().get("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllAsNdjsonShouldReturnOneCoursePerLineTest() {
+        client.exchange(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        client.exchange(HttpRequest.POST(coursesPath, courseToUpdate), CourseDto.class).block();
+
+        HttpResponse<String> response = client.exchange(
+                HttpRequest.GET(coursesPath).accept("application/x-ndjson"),
+                String.class
+        ).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.getCode(), response.getStatus().getCode());
+
+        List<String> lines = response.body().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.getFirst().contains(course.getTitle()));
+    }
+
     @Test
     void getByIdTest() {
         HttpResponse<CourseDto> created = client.exchange(
@@ -299,5 +362,115 @@ public class CourseControllerTest {
         assertEquals("EntityNotFoundException", body.get().getError());
     }
 
+    @Test
+    void getByIdShouldReflectInvalidationFromAnotherNodeTest() {
+        CourseDto created = client.retrieve(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        assertNotNull(created);
+        String byIdPath = coursesPath + "/" + created.getId();
+        client.retrieve(HttpRequest.GET(byIdPath), CourseDto.class).block();
+
+        execute("UPDATE courses SET title = 'remote title' WHERE id = " + created.getId());
+        CourseDto cached = client.retrieve(HttpRequest.GET(byIdPath), CourseDto.class).block();
+        assertNotNull(cached);
+        assertEquals(course.getTitle(), cached.getTitle());
+
+        execute("SELECT pg_notify('entity_cache_invalidation', 'other-node|courses:" + created.getId() + "')");
+        CourseDto refreshed = Mono.defer(() -> client.retrieve(HttpRequest.GET(byIdPath), CourseDto.class))
+                .filter(dto -> "remote title".equals(dto.getTitle()))
+                .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(10));
+        assertNotNull(refreshed);
+    }
+
+    @Test
+    void enrollStudentsBatchShouldReturnStatusPerStudentTest() {
+        CourseDto createdCourse = client.retrieve(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        StudentDto createdStudent = client.retrieve(HttpRequest.POST(studentsPath, StudentDto.builder()
+                .name("name")
+                .email("email@mail.com")
+                .build()), StudentDto.class).block();
+        assertNotNull(createdCourse);
+        assertNotNull(createdStudent);
+        String batchPath = coursesPath + "/" + createdCourse.getId() + "/students:batch";
+        IdListDto body = new IdListDto(List.of(createdStudent.getId(), 999L));
+
+        List<EnrollmentItemDto> first = client.retrieve(HttpRequest.POST(batchPath, body),
+                Argument.listOf(EnrollmentItemDto.class)).block();
+        List<EnrollmentItemDto> retried = client.retrieve(HttpRequest.POST(batchPath, body),
+                Argument.listOf(EnrollmentItemDto.class)).block();
+
+        assertNotNull(first);
+        assertEquals(EnrollmentStatus.ENROLLED, first.get(0).getStatus());
+        assertEquals(EnrollmentStatus.NOT_FOUND, first.get(1).getStatus());
+        assertNotNull(retried);
+        assertEquals(EnrollmentStatus.ALREADY_ENROLLED, retried.get(0).getStatus());
+    }
+
+    @Test
+    void metricsShouldRecordRouteAndRepositoryTimersTest() {
+        CourseDto created = client.retrieve(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        assertNotNull(created);
+        client.retrieve(HttpRequest.GET(coursesPath + "/" + created.getId()), CourseDto.class).block();
+
+        Timer route = meterRegistry.find("http.server.requests")
+                .tags("method", "GET", "uri", "/api/v1/courses/{id}")
+                .timer();
+        Timer query = meterRegistry.find(RepositoryMetricsInterceptor.QUERY_TIMER)
+                .tags("repository", "courses", "method", "findGraphJsonById", "outcome", "success")
+                .timer();
+        DistributionSummary rows = meterRegistry.find(RepositoryMetricsInterceptor.QUERY_ROWS)
+                .tags("repository", "courses", "method", "findGraphJsonById", "outcome", "success")
+                .summary();
+
+        assertNotNull(route);
+        assertNotNull(query);
+        assertNotNull(rows);
+        assertTrue(query.count() >= 1);
+        assertTrue(rows.count() >= 1);
+    }
+
+    @Test
+    void getPageShouldTakeConnectionsFromBulkPoolTest() {
+        execute("INSERT INTO courses (title) VALUES ('title')");
+        long bulkBefore = acquires("bulk");
+        long defaultBefore = acquires(ConnectionPoolMonitor.DEFAULT_POOL);
 
+        List<CourseDto> courses = client.retrieve(HttpRequest.GET(coursesPath).accept(MediaType.APPLICATION_JSON),
+                Argument.listOf(CourseDto.class)).block();
+
+        assertNotNull(courses);
+        assertEquals(1, courses.size());
+        assertTrue(acquires("bulk") > bulkBefore);
+        assertEquals(defaultBefore, acquires(ConnectionPoolMonitor.DEFAULT_POOL));
+    }
+
+    @Test
+    void streamAllShouldTakeConnectionsFromBulkPoolTest() {
+        execute("INSERT INTO courses (title) VALUES ('title')");
+        long bulkBefore = acquires("bulk");
+        long defaultBefore = acquires(ConnectionPoolMonitor.DEFAULT_POOL);
+
+        String ndjson = client.retrieve(HttpRequest.GET(coursesPath).accept(NdjsonEncoder.APPLICATION_NDJSON),
+                String.class).block();
+
+        assertNotNull(ndjson);
+        assertEquals(1, ndjson.lines().count());
+        assertTrue(acquires("bulk") > bulkBefore);
+        assertEquals(defaultBefore, acquires(ConnectionPoolMonitor.DEFAULT_POOL));
+    }
+
+    private long acquires(String pool) {
+        Timer timer = meterRegistry.find(ConnectionPoolMonitor.ACQUIRE_TIMER).tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private void execute(String sql) {
+        Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement(sql).execute())
+                        .flatMap(result -> result.map((row, metadata) -> 1))
+                        .then(),
+                Connection::close
+        ).block();
+    }
 }
@@ -171,6 +171,7 @@ public class DepartmentControllerTest {
         assertNotNull(updatedDepartment);
         assertNotNull(updatedDepartment.getId());
         assertEquals(departmentToUpdate.getName(), updatedDepartment.getName());
+        assertNotNull(updatedDepartment.getHeadOfDepartment());
     }
 
     @Test
@@ -0,0 +1,90 @@
+package com.milko.integration;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.StudentDto;
+import com.milko.integration.utils.DatabaseCleaner;
+import com.milko.metrics.ConnectionPoolMonitor;
+import com.milko.rest.NdjsonEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.reactor.http.client.ReactorHttpClient;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@RequiredArgsConstructor
+@MicronautTest(environments = "test")
+public class EnrollmentControllerTest {
+    private final DatabaseCleaner cleaner;
+    private final MeterRegistry meterRegistry;
+
+    @Inject
+    @Client("/")
+    private ReactorHttpClient client;
+
+    private final String exportPath = "/api/v1/enrollments/export";
+
+    private Long courseId;
+    private Long studentId;
+
+    @BeforeEach
+    public void prepareEnrollment() {
+        cleaner.clearTables().block();
+        CourseDto course = client.retrieve(HttpRequest.POST("/api/v1/courses",
+                CourseDto.builder().title("Algebra, part 1").build()), CourseDto.class).block();
+        StudentDto student = client.retrieve(HttpRequest.POST("/api/v1/students",
+                StudentDto.builder().name("name").email("email@mail.com").build()), StudentDto.class).block();
+        assertNotNull(course);
+        assertNotNull(student);
+        courseId = course.getId();
+        studentId = student.getId();
+        client.retrieve(HttpRequest.POST("/api/v1/students/" + studentId + "/courses/" + courseId, null),
+                StudentDto.class).block();
+    }
+
+    @Test
+    void exportAsCsvShouldStreamHeaderAndRowsTest() {
+        String csv = client.retrieve(HttpRequest.GET(exportPath).accept(MediaType.TEXT_CSV), String.class).block();
+
+        assertNotNull(csv);
+        String[] lines = csv.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("course_id,course_title"));
+        assertEquals(courseId + ",\"Algebra, part 1\",,," + studentId + ",name,email@mail.com", lines[1]);
+    }
+
+    @Test
+    void exportAsNdjsonShouldStreamOneRowPerLineTest() {
+        String ndjson = client.retrieve(HttpRequest.GET(exportPath).accept(NdjsonEncoder.APPLICATION_NDJSON),
+                String.class).block();
+
+        assertNotNull(ndjson);
+        String[] lines = ndjson.split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"courseTitle\":\"Algebra, part 1\""));
+        assertTrue(lines[0].contains("\"teacherId\":null"));
+        assertTrue(lines[0].contains("\"studentId\":" + studentId));
+    }
+
+    @Test
+    void exportShouldTakeConnectionFromBulkPoolTest() {
+        long bulkBefore = acquires("bulk");
+
+        String csv = client.retrieve(HttpRequest.GET(exportPath).accept(MediaType.TEXT_CSV), String.class).block();
+
+        assertNotNull(csv);
+        assertTrue(acquires("bulk") > bulkBefore);
+    }
+
+    private long acquires(String pool) {
+        Timer timer = meterRegistry.find(ConnectionPoolMonitor.ACQUIRE_TIMER).tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.milko.integration;
+
+import com.milko.dto.CourseDto;
+import com.milko.dto.StudentDto;
+import com.milko.exceptionhandling.ErrorResponse;
+import com.milko.integration.utils.DatabaseCleaner;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.reactor.http.client.ReactorHttpClient;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@RequiredArgsConstructor
+@MicronautTest(environments = {"test", "jdbc"})
+public class JdbcStudentControllerTest {
+    private final DatabaseCleaner cleaner;
+
+    @Inject
+    @Client("/")
+    private ReactorHttpClient client;
+
+    private final StudentDto student = StudentDto.builder()
+            .name("name")
+            .email("email")
+            .build();
+
+    private final CourseDto course = CourseDto.builder()
+            .title("title")
+            .build();
+
+    private final String studentsPath = "/api/v1/students";
+    private final String coursesPath = "/api/v1/courses";
+
+    @BeforeEach
+    public void cleanDataBase() {
+        cleaner.clearTables().block();
+    }
+
+    @Test
+    void createShouldReturnConflictForDuplicateStudentTest() {
+        client.exchange(HttpRequest.POST(studentsPath, student), StudentDto.class).block();
+
+        HttpClientResponseException ex = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(
+                    HttpRequest.POST(studentsPath, student),
+                    ErrorResponse.class
+            );
+        });
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+
+        HttpResponse<?> response = ex.getResponse();
+        Optional<ErrorResponse> body = response.getBody(ErrorResponse.class);
+        assertTrue(body.isPresent());
+        assertEquals("409", body.get().getStatus());
+        assertEquals("SQLException", body.get().getError());
+        assertEquals(studentsPath, body.get().getPath());
+    }
+
+    @Test
+    void addCourseToStudentTwiceShouldEnrollOnceTest() {
+        StudentDto createdStudent = client.retrieve(HttpRequest.POST(studentsPath, student), StudentDto.class).block();
+        CourseDto createdCourse = client.retrieve(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        assertNotNull(createdStudent);
+        assertNotNull(createdCourse);
+        String enrollPath = studentsPath + "/" + createdStudent.getId() + "/courses/" + createdCourse.getId();
+
+        client.retrieve(HttpRequest.POST(enrollPath, null), StudentDto.class).block();
+        StudentDto retried = client.retrieve(HttpRequest.POST(enrollPath, null), StudentDto.class).block();
+
+        assertNotNull(retried);
+        assertEquals(1, retried.getCourses().size());
+        assertEquals(createdCourse.getId(), retried.getCourses().getFirst().getId());
+    }
+}
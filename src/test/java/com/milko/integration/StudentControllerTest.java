@@ -1,6 +1,7 @@
 package com.milko.integration;
 
 import com.milko.dto.CourseDto;
+import com.milko.dto.ImportReportDto;
 import com.milko.dto.StudentDto;
 import com.milko.exceptionhandling.ErrorResponse;
 import com.milko.integration.utils.DatabaseCleaner;
@@ -8,6 +9,7 @@ import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.reactor.http.client.ReactorHttpClient;
@@ -352,6 +354,22 @@ public class StudentControllerTest {
         assertEquals(course.getTitle(), studentWithCourse.getCourses().getFirst().getTitle());
     }
 
+    @Test
+    void addCourseToStudentTwiceShouldEnrollOnceTest() {
+        StudentDto createdStudent = client.retrieve(HttpRequest.POST(studentsPath, student), StudentDto.class).block();
+        CourseDto createdCourse = client.retrieve(HttpRequest.POST(coursesPath, course), CourseDto.class).block();
+        assertNotNull(createdStudent);
+        assertNotNull(createdCourse);
+        String enrollPath = studentsPath + "/" + createdStudent.getId() + "/courses/" + createdCourse.getId();
+
+        client.retrieve(HttpRequest.POST(enrollPath, null), StudentDto.class).block();
+        StudentDto retried = client.retrieve(HttpRequest.POST(enrollPath, null), StudentDto.class).block();
+
+        assertNotNull(retried);
+        assertEquals(1, retried.getCourses().size());
+        assertEquals(createdCourse.getId(), retried.getCourses().getFirst().getId());
+    }
+
     @Test
     void addCourseToStudentShouldThrowEntityNotFoundExceptionTest() {
         long wrongId = 999L;
@@ -372,4 +390,27 @@ public class StudentControllerTest {
         assertEquals("EntityNotFoundException", body.get().getError());
         assertEquals(studentsPath + "/" + wrongId + "/courses/" + wrongId, body.get().getPath());
     }
+
+    @Test
+    void importCsvShouldInsertValidRowsAndReportInvalidOnesTest() {
+        String csv = """
+                name,email
+                Alice,alice@mail.com
+                Bob,not-an-email
+                Alice,alice@mail.com
+                Carol,carol@mail.com
+                """;
+
+        ImportReportDto report = client.retrieve(
+                HttpRequest.POST(studentsPath + "/import", csv).contentType(MediaType.TEXT_CSV),
+                ImportReportDto.class
+        ).block();
+
+        assertNotNull(report);
+        assertEquals(4, report.getReceived());
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getSkipped());
+        assertEquals(1, report.getRejected());
+        assertEquals(3, report.getErrors().getFirst().getLine());
+    }
 }
@@ -37,7 +37,10 @@ public class TestContainersInitializer implements AutoCloseable {
                         "R2DBC_URL", "r2dbc:postgresql://" + postgres.getHost() + ":" +
                                 postgres.getMappedPort(5432) + "/" + postgres.getDatabaseName(),
                         "R2DBC_USER", postgres.getUsername(),
-                        "R2DBC_PASS", postgres.getPassword()
+                        "R2DBC_PASS", postgres.getPassword(),
+                        "JDBC_URL", postgres.getJdbcUrl(),
+                        "JDBC_USER", postgres.getUsername(),
+                        "JDBC_PASS", postgres.getPassword()
                 ))
         );
     }
@@ -0,0 +1,111 @@
+package com.milko.unit;
+
+import com.milko.config.AdmissionControlProperties;
+import com.milko.metrics.ConnectionPoolMonitor;
+import com.milko.rest.AdmissionControlFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionControlFilterTest {
+    @Mock
+    private ConnectionPoolMonitor poolMonitor;
+
+    @Mock
+    private ServerFilterChain chain;
+
+    @Mock
+    private HttpRequest<Object> request;
+
+    private AdmissionControlProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionControlProperties();
+        properties.setEnabled(true);
+        properties.setMaxPendingAcquires(10);
+        properties.setQueueTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldProceedWhilePendingAcquiresAreBelowThreshold() {
+        when(poolMonitor.getPendingAcquires()).thenReturn(10);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.ok()));
+
+        StepVerifier.create(filter().doFilter(request, chain))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldShedWith503WhenSaturatedAndQueueingIsDisabled() {
+        when(poolMonitor.getPendingAcquires()).thenReturn(11);
+        when(request.getPath()).thenReturn("/api/v1/courses");
+
+        StepVerifier.create(filter().doFilter(request, chain))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus());
+                    assertEquals("1", response.getHeaders().get(HttpHeaders.RETRY_AFTER));
+                })
+                .verifyComplete();
+        verify(chain, never()).proceed(any());
+        assertEquals(1.0, meterRegistry.counter(AdmissionControlFilter.REJECTED_COUNTER, "reason", "saturated").count());
+    }
+
+    @Test
+    void shouldProceedOnceBacklogDrainsWhileQueued() {
+        properties.setMaxQueued(1);
+        Sinks.Many<String> acquires = Sinks.many().multicast().directBestEffort();
+        when(poolMonitor.acquireCompletions()).thenReturn(acquires.asFlux());
+        when(poolMonitor.getPendingAcquires()).thenReturn(50, 20, 0);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.ok()));
+
+        StepVerifier.create(filter().doFilter(request, chain))
+                .then(() -> acquires.tryEmitNext("replica"))
+                .then(() -> acquires.tryEmitNext(ConnectionPoolMonitor.DEFAULT_POOL))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectQueuedRequestAfterQueueTimeout() {
+        properties.setMaxQueued(1);
+        when(poolMonitor.acquireCompletions()).thenReturn(Flux.never());
+        when(poolMonitor.getPendingAcquires()).thenReturn(50);
+        when(request.getPath()).thenReturn("/api/v1/courses");
+
+        StepVerifier.create(filter().doFilter(request, chain))
+                .assertNext(response -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus()))
+                .verifyComplete();
+        verify(chain, never()).proceed(any());
+        assertEquals(1.0, meterRegistry.counter(AdmissionControlFilter.REJECTED_COUNTER, "reason", "queue_timeout").count());
+    }
+
+    private AdmissionControlFilter filter() {
+        return new AdmissionControlFilter(properties, poolMonitor, meterRegistry);
+    }
+}
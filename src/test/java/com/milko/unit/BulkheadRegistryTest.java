@@ -0,0 +1,62 @@
+package com.milko.unit;
+
+import com.milko.bulkhead.BulkheadRegistry;
+import com.milko.config.BulkheadProperties;
+import com.milko.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkheadRegistryTest {
+    private BulkheadRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties bulk = new BulkheadProperties("bulk");
+        bulk.setMaxConcurrentCalls(2);
+        bulk.setDatasource("bulk");
+        registry = new BulkheadRegistry(List.of(bulk));
+        meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+    }
+
+    @Test
+    void shouldRejectCallsBeyondConcurrencyLimit() {
+        BulkheadRegistry.Compartment compartment = registry.get("bulk");
+        compartment.acquire();
+        compartment.acquire();
+
+        assertThrows(BulkheadFullException.class, compartment::acquire);
+        assertEquals(2, compartment.getActive());
+        assertEquals(1.0, meterRegistry.counter("bulkhead.rejected", "bulkhead", "bulk").count());
+    }
+
+    @Test
+    void shouldAdmitAgainAfterRelease() {
+        BulkheadRegistry.Compartment compartment = registry.get("bulk");
+        compartment.acquire();
+        compartment.acquire();
+        compartment.release();
+
+        compartment.acquire();
+        assertEquals(2, compartment.getActive());
+    }
+
+    @Test
+    void shouldResolveBulkheadByDatasource() {
+        assertTrue(registry.forDatasource("bulk").isPresent());
+        assertTrue(registry.forDatasource("default").isEmpty());
+    }
+
+    @Test
+    void shouldFailForUnknownBulkhead() {
+        assertThrows(IllegalStateException.class, () -> registry.get("missing"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.milko.unit;
+
+import com.milko.config.ReplicaProperties;
+import com.milko.metrics.ConnectionPoolMonitor;
+import com.milko.repository.routing.ConnectionRouting;
+import com.milko.repository.routing.DatasourceRouting;
+import com.milko.repository.routing.Lsn;
+import com.milko.repository.routing.ReplicaLsnTracker;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.inject.BeanIdentifier;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.util.function.BiFunction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionRoutingTest {
+    @Mock
+    private BeanLocator beanLocator;
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionFactory replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private Result result;
+
+    @Mock
+    private Row row;
+
+    @Mock
+    private RowMetadata metadata;
+
+    private ReplicaLsnTracker tracker;
+    private ConnectionFactory routed;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setEnabled(true);
+        tracker = new ReplicaLsnTracker(properties, beanLocator);
+
+        BeanCreatedEvent<ConnectionFactory> event = mock(BeanCreatedEvent.class);
+        when(event.getBeanIdentifier()).thenReturn(BeanIdentifier.of(ConnectionPoolMonitor.DEFAULT_POOL));
+        when(event.getBean()).thenReturn(primary);
+        routed = new ConnectionRouting(beanLocator, tracker).onCreated(event);
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideReplicaReads() {
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(Mono.<Connection>from(routed.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUseReplicaForTokenlessReads() {
+        replicaReplayed("0/3000000");
+
+        StepVerifier.create(Mono.<Connection>from(routed.create())
+                        .contextWrite(Context.of(DatasourceRouting.REPLICA_MIN_LSN_KEY, 0L)))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUseReplicaOnceItReplayedReadToken() {
+        replicaReplayed("0/3000000");
+
+        StepVerifier.create(Mono.<Connection>from(routed.create())
+                        .contextWrite(Context.of(DatasourceRouting.REPLICA_MIN_LSN_KEY, Lsn.parse("0/3000000"))))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUsePrimaryWhileReplicaLagsBehindReadToken() {
+        replicaReplayed("0/3000000");
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(Mono.<Connection>from(routed.create())
+                        .contextWrite(Context.of(DatasourceRouting.REPLICA_MIN_LSN_KEY, Lsn.parse("0/3000001"))))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUsePrimaryWhenReplicaReportsNoReplayPosition() {
+        replicaReplayed(null);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(Mono.<Connection>from(routed.create())
+                        .contextWrite(Context.of(DatasourceRouting.REPLICA_MIN_LSN_KEY, 0L)))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUseBulkheadDatasourceNamedInContext() {
+        ConnectionFactory bulk = mock(ConnectionFactory.class);
+        Connection bulkConnection = mock(Connection.class);
+        when(beanLocator.getBean(eq(ConnectionFactory.class), eq(Qualifiers.byName("bulk")))).thenReturn(bulk);
+        doReturn(Mono.just(bulkConnection)).when(bulk).create();
+
+        StepVerifier.create(Mono.<Connection>from(routed.create())
+                        .contextWrite(Context.of(DatasourceRouting.DATASOURCE_KEY, "bulk")))
+                .expectNext(bulkConnection)
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replicaReplayed(String lsn) {
+        when(beanLocator.getBean(eq(ConnectionFactory.class), eq(Qualifiers.byName("replica")))).thenReturn(replica);
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+        when(replicaConnection.createStatement(anyString())).thenReturn(statement);
+        doReturn(Mono.just(result)).when(statement).execute();
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation ->
+                Mono.just(invocation.<BiFunction<Row, RowMetadata, ?>>getArgument(0).apply(row, metadata)));
+        when(row.get(0, String.class)).thenReturn(lsn);
+        doReturn(Mono.empty()).when(replicaConnection).close();
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+    }
+}
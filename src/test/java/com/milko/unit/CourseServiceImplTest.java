@@ -1,13 +1,23 @@
 package com.milko.unit;
 
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
 import com.milko.dto.CourseDto;
+import com.milko.dto.CursorPage;
+import com.milko.dto.EnrollmentItemDto;
+import com.milko.dto.EnrollmentStatus;
+import com.milko.dto.records.EnrollmentItemView;
+import com.milko.dto.records.TeacherAssignmentResult;
 import com.milko.exception.EntityNotFoundException;
 import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.StudentMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Course;
-import com.milko.model.Teacher;
 import com.milko.repository.CourseRepository;
+import com.milko.repository.CourseStudentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.StudentRepository;
 import com.milko.repository.TeacherRepository;
 import com.milko.service.impl.CourseServiceImpl;
@@ -17,12 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,11 +48,22 @@ public class CourseServiceImplTest {
     @Mock
     private TeacherRepository teacherRepository;
     @Mock
+    private CourseStudentRepository courseStudentRepository;
+    @Mock
     private CourseMapper courseMapper;
     @Mock
     private TeacherMapper teacherMapper;
     @Mock
     private StudentMapper studentMapper;
+    @Mock
+    private GraphJsonMapper graphJsonMapper;
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+    @Mock
+    private EntityCache entityCache;
+    @Spy
+    private IdChunks idChunks = new IdChunks(IdChunks.DEFAULT_CHUNK_SIZE);
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -50,6 +74,8 @@ public class CourseServiceImplTest {
 
     @BeforeEach
     public void init(){
+        Mockito.lenient().when(entityCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(3).get());
         course = new Course();
         course.setId(1L);
         course.setTitle("title");
@@ -102,18 +128,9 @@ public class CourseServiceImplTest {
 
     @Test
     void updateShouldUpdateCourseAndReturnDto() {
-        Mockito.when(courseRepository.findById(courseDto.getId())).thenReturn(Mono.just(course));
-        Mockito.when(courseRepository.update(course)).thenReturn(Mono.just(course));
-        Mockito.when(teacherRepository.findByCourseId(course.getId())).thenReturn(Mono.empty());
-        Mockito.when(studentRepository.findAllByCourseId(course.getId())).thenReturn(Flux.empty());
-        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
-
-        Mockito.doAnswer(invocation -> {
-            CourseDto dto = invocation.getArgument(0);
-            Course entity = invocation.getArgument(1);
-            entity.setTitle(dto.getTitle());
-            return null;
-        }).when(courseMapper).updateFromDto(courseDto, course);
+        String graph = "{\"id\":1,\"title\":\"title\",\"teacher\":null,\"students\":[]}";
+        Mockito.when(courseRepository.patchGraphJsonById(courseDto.getId(), courseDto.getTitle())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, CourseDto.class)).thenReturn(courseDto);
 
         Mono<CourseDto> result = courseService.update(courseDto);
 
@@ -125,12 +142,10 @@ public class CourseServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(courseRepository).findById(courseDto.getId());
-        Mockito.verify(courseRepository).update(course);
-        Mockito.verify(teacherRepository).findByCourseId(course.getId());
-        Mockito.verify(studentRepository).findAllByCourseId(course.getId());
-        Mockito.verify(courseMapper).toCourseDto(course);
-        Mockito.verify(courseMapper).updateFromDto(courseDto, course);
+        Mockito.verify(courseRepository).patchGraphJsonById(courseDto.getId(), courseDto.getTitle());
+        Mockito.verify(graphJsonMapper).read(graph, CourseDto.class);
+        Mockito.verify(cacheInvalidator).evictCourse(courseDto);
+        Mockito.verifyNoMoreInteractions(courseRepository);
     }
 
 
@@ -140,7 +155,7 @@ public class CourseServiceImplTest {
         Long courseId = 999L;
         courseDto.setId(courseId);
 
-        Mockito.when(courseRepository.findById(courseId)).thenReturn(Mono.empty());
+        Mockito.when(courseRepository.patchGraphJsonById(courseId, courseDto.getTitle())).thenReturn(Mono.empty());
 
         Mono<CourseDto> result = courseService.update(courseDto);
 
@@ -149,16 +164,16 @@ public class CourseServiceImplTest {
                         throwable.getMessage().equals("Course with ID " + courseId + " not found"))
                 .verify();
 
-        Mockito.verify(courseRepository).findById(courseId);
-        Mockito.verifyNoMoreInteractions(courseRepository, courseMapper);
+        Mockito.verify(courseRepository).patchGraphJsonById(courseId, courseDto.getTitle());
+        Mockito.verifyNoMoreInteractions(courseRepository);
+        Mockito.verifyNoInteractions(graphJsonMapper, cacheInvalidator);
     }
 
     @Test
     void findByIdShouldReturnCourseDto() {
-        Mockito.when(courseRepository.findById(course.getId())).thenReturn(Mono.just(course));
-        Mockito.when(studentRepository.findAllByCourseId(course.getId())).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findByCourseId(course.getId())).thenReturn(Mono.empty());
-        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+        String graph = "{\"id\":1,\"title\":\"title\",\"teacher\":null,\"students\":[]}";
+        Mockito.when(courseRepository.findGraphJsonById(course.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, CourseDto.class)).thenReturn(courseDto);
 
         Mono<CourseDto> result = courseService.findById(course.getId());
 
@@ -170,17 +185,16 @@ public class CourseServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(courseRepository).findById(course.getId());
-        Mockito.verify(studentRepository).findAllByCourseId(course.getId());
-        Mockito.verify(teacherRepository).findByCourseId(course.getId());
-        Mockito.verify(courseMapper).toCourseDto(course);
+        Mockito.verify(courseRepository).findGraphJsonById(course.getId());
+        Mockito.verify(graphJsonMapper).read(graph, CourseDto.class);
+        Mockito.verifyNoInteractions(studentRepository, teacherRepository, courseMapper);
     }
 
     @Test
     void findByIdShouldThrowExceptionWhenCourseNotFound() {
         Long courseId = 999L;
 
-        Mockito.when(courseRepository.findById(courseId)).thenReturn(Mono.empty());
+        Mockito.when(courseRepository.findGraphJsonById(courseId)).thenReturn(Mono.empty());
 
         Mono<CourseDto> result = courseService.findById(courseId);
 
@@ -189,15 +203,16 @@ public class CourseServiceImplTest {
                         throwable.getMessage().equals("Course with ID " + courseId + " not found"))
                 .verify();
 
-        Mockito.verify(courseRepository).findById(courseId);
+        Mockito.verify(courseRepository).findGraphJsonById(courseId);
         Mockito.verifyNoMoreInteractions(courseRepository, studentRepository, teacherRepository, courseMapper);
+        Mockito.verifyNoInteractions(graphJsonMapper);
     }
 
     @Test
     void findAllShouldReturnListOfCourses() {
         Mockito.when(courseRepository.findAll()).thenReturn(Flux.just(course));
-        Mockito.when(teacherRepository.findAllByCoursesIdList(List.of(course.getId()))).thenReturn(Flux.empty());
-        Mockito.when(studentRepository.findAllByCoursesIdList(List.of(course.getId()))).thenReturn(Flux.empty());
+        Mockito.when(teacherRepository.findAllByCourseIdArray(new Long[]{course.getId()})).thenReturn(Flux.empty());
+        Mockito.when(studentRepository.findAllByCourseIdArray(new Long[]{course.getId()})).thenReturn(Flux.empty());
         Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
 
         Flux<CourseDto> result = courseService.findAll();
@@ -211,16 +226,14 @@ public class CourseServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(courseRepository).findAll();
-        Mockito.verify(teacherRepository).findAllByCoursesIdList(List.of(course.getId()));
-        Mockito.verify(studentRepository).findAllByCoursesIdList(List.of(course.getId()));
+        Mockito.verify(teacherRepository).findAllByCourseIdArray(new Long[]{course.getId()});
+        Mockito.verify(studentRepository).findAllByCourseIdArray(new Long[]{course.getId()});
         Mockito.verify(courseMapper).toCourseDto(course);
     }
 
     @Test
     void findAllShouldReturnEmptyList() {
         Mockito.when(courseRepository.findAll()).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findAllByCoursesIdList(Mockito.anyList())).thenReturn(Flux.empty());
-        Mockito.when(studentRepository.findAllByCoursesIdList(Mockito.anyList())).thenReturn(Flux.empty());
 
         Flux<CourseDto> result = courseService.findAll();
 
@@ -229,9 +242,74 @@ public class CourseServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(courseRepository).findAll();
-        Mockito.verifyNoMoreInteractions(teacherRepository, studentRepository, courseMapper);
+        Mockito.verifyNoInteractions(teacherRepository, studentRepository, courseMapper);
+    }
+
+
+    @Test
+    void findAllShouldEnrichCoursesInBatches() {
+        List<Course> courses = LongStream.rangeClosed(1, 501)
+                .mapToObj(id -> {
+                    Course c = new Course();
+                    c.setId(id);
+                    return c;
+                })
+                .toList();
+
+        Mockito.when(courseRepository.findAll()).thenReturn(Flux.fromIterable(courses));
+        Mockito.when(teacherRepository.findAllByCourseIdArray(Mockito.any())).thenReturn(Flux.empty());
+        Mockito.when(studentRepository.findAllByCourseIdArray(Mockito.any())).thenReturn(Flux.empty());
+        Mockito.when(courseMapper.toCourseDto(Mockito.any(Course.class))).thenAnswer(invocation -> new CourseDto());
+
+        StepVerifier.create(courseService.findAll())
+                .expectNextCount(501)
+                .verifyComplete();
+
+        Mockito.verify(teacherRepository).findAllByCourseIdArray(courses.subList(0, 500).stream().map(Course::getId).toArray(Long[]::new));
+        Mockito.verify(teacherRepository).findAllByCourseIdArray(new Long[]{501L});
+        Mockito.verify(studentRepository, Mockito.times(2)).findAllByCourseIdArray(Mockito.any());
     }
 
+    @Test
+    void findPageShouldReturnNextCursorWhenMoreRowsExist() {
+        Course next = new Course();
+        next.setId(2L);
+        next.setTitle("next");
+
+        Mockito.when(courseRepository.findAllAfterId(0L, 2)).thenReturn(Flux.just(course, next));
+        Mockito.when(teacherRepository.findAllByCourseIdArray(new Long[]{course.getId()})).thenReturn(Flux.empty());
+        Mockito.when(studentRepository.findAllByCourseIdArray(new Long[]{course.getId()})).thenReturn(Flux.empty());
+        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+
+        Mono<CursorPage<CourseDto>> result = courseService.findPage(null, 1);
+
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertEquals(courseDto.getId(), page.getItems().getFirst().getId());
+                    assertEquals(course.getId(), page.getNextCursor());
+                })
+                .verifyComplete();
+
+        Mockito.verify(courseRepository).findAllAfterId(0L, 2);
+        Mockito.verify(courseMapper, Mockito.never()).toCourseDto(next);
+    }
+
+    @Test
+    void findPageShouldReturnEmptyPageWithoutLoadingRelations() {
+        Mockito.when(courseRepository.findAllAfterId(5L, 11)).thenReturn(Flux.empty());
+
+        Mono<CursorPage<CourseDto>> result = courseService.findPage(5L, 10);
+
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    assertTrue(page.getItems().isEmpty());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(teacherRepository, studentRepository, courseMapper);
+    }
 
     @Test
     void deleteByIdShouldRemoveCourse() {
@@ -243,20 +321,18 @@ public class CourseServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(courseRepository).deleteById(course.getId());
+        Mockito.verify(cacheInvalidator).courseDeleted(course.getId());
     }
 
     @Test
-    void setTeacherToCourseShouldAssignTeacher() {
+    void setTeacherToCourseShouldAssignTeacherAndEvictPreviousTeacher() {
         Long teacherId = 2L;
-        Teacher teacher = new Teacher();
-        teacher.setId(teacherId);
-
-        Mockito.when(courseRepository.findById(course.getId())).thenReturn(Mono.just(course));
-        Mockito.when(teacherRepository.findById(teacherId)).thenReturn(Mono.just(teacher));
-        Mockito.when(courseRepository.update(course)).thenReturn(Mono.just(course));
-        Mockito.when(studentRepository.findAllByCourseId(course.getId())).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findByCourseId(course.getId())).thenReturn(Mono.just(teacher));
-        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+        String graph = "{\"id\":1,\"title\":\"title\",\"teacher\":{\"id\":2,\"name\":\"name\"},\"students\":[]}";
+
+        Mockito.when(courseRepository.assignTeacher(course.getId(), teacherId))
+                .thenReturn(Mono.just(new TeacherAssignmentResult(true, true, 3L)));
+        Mockito.when(courseRepository.findGraphJsonById(course.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, CourseDto.class)).thenReturn(courseDto);
 
         Mono<CourseDto> result = courseService.setTeacherToCourse(course.getId(), teacherId);
 
@@ -268,22 +344,19 @@ public class CourseServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(courseRepository).findById(course.getId());
-        Mockito.verify(teacherRepository).findById(teacherId);
-        Mockito.verify(courseRepository).update(course);
-        Mockito.verify(studentRepository).findAllByCourseId(course.getId());
-        Mockito.verify(courseMapper).toCourseDto(course);
+        Mockito.verify(courseRepository).assignTeacher(course.getId(), teacherId);
+        Mockito.verify(courseRepository).findGraphJsonById(course.getId());
+        Mockito.verify(cacheInvalidator).evict(EntityCaches.TEACHERS, 3L);
+        Mockito.verify(cacheInvalidator).evictCourse(courseDto);
+        Mockito.verifyNoMoreInteractions(courseRepository);
     }
 
-
-
     @Test
     void setTeacherToCourseShouldThrowEntityNotFoundExceptionForCourse() {
         Long teacherId = 2L;
 
-        Mockito.when(courseRepository.findById(course.getId()))
-                .thenReturn(Mono.error(new EntityNotFoundException("Course with ID " + course.getId() + " not found")));
-        Mockito.when(teacherRepository.findById(teacherId)).thenReturn(Mono.empty());
+        Mockito.when(courseRepository.assignTeacher(course.getId(), teacherId))
+                .thenReturn(Mono.just(new TeacherAssignmentResult(false, true, null)));
 
         Mono<CourseDto> result = courseService.setTeacherToCourse(course.getId(), teacherId);
 
@@ -294,8 +367,64 @@ public class CourseServiceImplTest {
                 })
                 .verify();
 
-        Mockito.verify(courseRepository).findById(course.getId());
-        Mockito.verifyNoInteractions(courseMapper);
+        Mockito.verify(courseRepository).assignTeacher(course.getId(), teacherId);
+        Mockito.verifyNoMoreInteractions(courseRepository);
+        Mockito.verifyNoInteractions(courseMapper, cacheInvalidator);
     }
 
+    @Test
+    void setTeacherToCourseShouldThrowEntityNotFoundExceptionForTeacher() {
+        Long teacherId = 2L;
+
+        Mockito.when(courseRepository.assignTeacher(course.getId(), teacherId))
+                .thenReturn(Mono.just(new TeacherAssignmentResult(true, false, null)));
+
+        Mono<CourseDto> result = courseService.setTeacherToCourse(course.getId(), teacherId);
+
+        StepVerifier.create(result)
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(EntityNotFoundException.class, throwable);
+                    assertEquals("Teacher with ID " + teacherId + " not found", throwable.getMessage());
+                })
+                .verify();
+
+        Mockito.verifyNoInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void enrollStudentsShouldReturnStatusPerStudentAndEvictEnrolled() {
+        Mockito.when(courseStudentRepository.enrollStudentsInCourse(course.getId(), new Long[]{2L, 3L, 4L}))
+                .thenReturn(Flux.just(
+                        new EnrollmentItemView(2L, "ENROLLED", true),
+                        new EnrollmentItemView(3L, "ALREADY_ENROLLED", true),
+                        new EnrollmentItemView(4L, "NOT_FOUND", true)));
+
+        Mono<List<EnrollmentItemDto>> result = courseService.enrollStudents(course.getId(), List.of(2L, 3L, 3L, 4L));
+
+        StepVerifier.create(result)
+                .assertNext(items -> {
+                    assertEquals(3, items.size());
+                    assertEquals(EnrollmentStatus.ENROLLED, items.get(0).getStatus());
+                    assertEquals(EnrollmentStatus.ALREADY_ENROLLED, items.get(1).getStatus());
+                    assertEquals(EnrollmentStatus.NOT_FOUND, items.get(2).getStatus());
+                })
+                .verifyComplete();
+
+        Mockito.verify(cacheInvalidator).evict(EntityCaches.COURSES, course.getId());
+        Mockito.verify(cacheInvalidator).evict(EntityCaches.STUDENTS, 2L);
+        Mockito.verifyNoMoreInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void enrollStudentsShouldThrowExceptionWhenCourseNotFound() {
+        Mockito.when(courseStudentRepository.enrollStudentsInCourse(999L, new Long[]{2L}))
+                .thenReturn(Flux.just(new EnrollmentItemView(2L, "NOT_FOUND", false)));
+
+        Mono<List<EnrollmentItemDto>> result = courseService.enrollStudents(999L, List.of(2L));
+
+        StepVerifier.create(result)
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException &&
+                        e.getMessage().equals("Course with ID 999 not found"))
+                .verify();
+    }
 }
@@ -0,0 +1,41 @@
+package com.milko.unit;
+
+import com.milko.service.importing.CopyText;
+import com.milko.service.importing.CsvLines;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvLinesTest {
+
+    @Test
+    void linesShouldJoinLinesSplitAcrossChunks() {
+        byte[] csv = "name,email\r\nJöhn,john@mail.com\nJane,jane@mail.com".getBytes(StandardCharsets.UTF_8);
+        Flux<byte[]> chunks = Flux.just(
+                Arrays.copyOfRange(csv, 0, 14),
+                Arrays.copyOfRange(csv, 14, 15),
+                Arrays.copyOfRange(csv, 15, csv.length));
+
+        StepVerifier.create(CsvLines.lines(chunks))
+                .expectNext("name,email", "Jöhn,john@mail.com", "Jane,jane@mail.com")
+                .verifyComplete();
+    }
+
+    @Test
+    void parseShouldHandleQuotedFields() {
+        assertEquals(List.of("Doe, John", "say \"hi\"", ""), CsvLines.parse("\"Doe, John\",\"say \"\"hi\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> CsvLines.parse("\"unterminated,x"));
+    }
+
+    @Test
+    void copyRowShouldEscapeSpecialCharacters() {
+        assertEquals("1\ta\\tb\\\\c\t\\N\n", CopyText.row(Arrays.asList("1", "a\tb\\c", null)));
+    }
+}
@@ -1,13 +1,18 @@
 package com.milko.unit;
 
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
+import com.milko.cache.EntityCaches;
 import com.milko.dto.DepartmentDto;
 import com.milko.dto.TeacherDto;
+import com.milko.dto.records.TeacherAssignmentResult;
 import com.milko.exception.EntityNotFoundException;
 import com.milko.mapper.DepartmentMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Department;
 import com.milko.model.Teacher;
 import com.milko.repository.DepartmentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.TeacherRepository;
 import com.milko.service.impl.DepartmentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,12 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +41,13 @@ public class DepartmentServiceImplTest {
     private DepartmentMapper departmentMapper;
     @Mock
     private TeacherMapper teacherMapper;
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+    @Mock
+    private EntityCache entityCache;
+    @Spy
+    private IdChunks idChunks = new IdChunks(IdChunks.DEFAULT_CHUNK_SIZE);
+
     @InjectMocks
     private DepartmentServiceImpl departmentService;
 
@@ -48,6 +61,8 @@ public class DepartmentServiceImplTest {
 
     @BeforeEach
     public void init(){
+        Mockito.lenient().when(entityCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(3).get());
         departmentDto = DepartmentDto.builder()
                 .id(1L)
                 .name("Test Department")
@@ -106,32 +121,27 @@ public class DepartmentServiceImplTest {
 
     @Test
     void updateShouldUpdateDepartmentAndReturnDto() {
-        Mockito.when(departmentRepository.findById(departmentDto.getId())).thenReturn(Mono.just(department));
-        Mockito.when(departmentRepository.update(department)).thenReturn(Mono.just(department));
-        Mockito.when(teacherRepository.findByDepartmentId(department.getId())).thenReturn(Mono.empty());
+        TeacherDto headOfDepartment = TeacherDto.builder().id(teacher.getId()).build();
+        Mockito.when(departmentRepository.patchById(departmentDto.getId(), departmentDto.getName())).thenReturn(Mono.just(department));
+        Mockito.when(teacherRepository.findByDepartmentId(department.getId())).thenReturn(Mono.just(teacher));
         Mockito.when(departmentMapper.toDepartmentDto(department)).thenReturn(expectedDepartmentDto);
-
-        Mockito.doAnswer(invocation -> {
-            DepartmentDto dto = invocation.getArgument(0);
-            Department entity = invocation.getArgument(1);
-            entity.setName(dto.getName());
-            return null;
-        }).when(departmentMapper).updateFromDto(departmentDto, department);
+        Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(headOfDepartment);
 
         Mono<DepartmentDto> result = departmentService.update(departmentDto);
 
         StepVerifier.create(result)
                 .assertNext(dto -> {
                     assertNotNull(dto);
-                    assertEquals(expectedDepartmentDto.getId(), dto.getId());
-                    assertEquals(expectedDepartmentDto.getName(), dto.getName());
+                    assertEquals(departmentDto.getId(), dto.getId());
+                    assertEquals(departmentDto.getName(), dto.getName());
+                    assertEquals(headOfDepartment, dto.getHeadOfDepartment());
                 })
                 .verifyComplete();
 
-        Mockito.verify(departmentRepository).findById(departmentDto.getId());
-        Mockito.verify(departmentRepository).update(department);
-        Mockito.verify(departmentMapper).toDepartmentDto(department);
-        Mockito.verify(departmentMapper).updateFromDto(departmentDto, department);
+        Mockito.verify(departmentRepository).patchById(departmentDto.getId(), departmentDto.getName());
+        Mockito.verify(teacherRepository).findByDepartmentId(department.getId());
+        Mockito.verify(cacheInvalidator).evictDepartment(expectedDepartmentDto);
+        Mockito.verifyNoMoreInteractions(departmentRepository);
     }
 
     @Test
@@ -139,7 +149,7 @@ public class DepartmentServiceImplTest {
         Long departmentId = 999L;
         departmentDto.setId(departmentId);
 
-        Mockito.when(departmentRepository.findById(departmentId)).thenReturn(Mono.empty());
+        Mockito.when(departmentRepository.patchById(departmentId, departmentDto.getName())).thenReturn(Mono.empty());
 
         Mono<DepartmentDto> result = departmentService.update(departmentDto);
 
@@ -148,7 +158,7 @@ public class DepartmentServiceImplTest {
                         throwable.getMessage().equals("Department with ID " + departmentId + " not found"))
                 .verify();
 
-        Mockito.verify(departmentRepository).findById(departmentId);
+        Mockito.verify(departmentRepository).patchById(departmentId, departmentDto.getName());
     }
 
     @Test
@@ -193,7 +203,7 @@ public class DepartmentServiceImplTest {
     @Test
     void findAllShouldReturnListOfDepartments() {
         Mockito.when(departmentRepository.findAll()).thenReturn(Flux.just(department));
-        Mockito.when(teacherRepository.findAllByDepartmentsIdList(List.of(department.getId()))).thenReturn(Flux.empty());
+        Mockito.when(teacherRepository.findAllByDepartmentIdArray(new Long[]{department.getId()})).thenReturn(Flux.empty());
         Mockito.when(departmentMapper.toDepartmentDto(department)).thenReturn(expectedDepartmentDto);
 
         Flux<DepartmentDto> result = departmentService.findAll();
@@ -207,14 +217,13 @@ public class DepartmentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(departmentRepository).findAll();
-        Mockito.verify(teacherRepository).findAllByDepartmentsIdList(List.of(department.getId()));
+        Mockito.verify(teacherRepository).findAllByDepartmentIdArray(new Long[]{department.getId()});
         Mockito.verify(departmentMapper).toDepartmentDto(department);
     }
 
     @Test
     void findAllShouldReturnEmptyList() {
         Mockito.when(departmentRepository.findAll()).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findAllByDepartmentsIdList(Mockito.anyList())).thenReturn(Flux.empty());
 
         Flux<DepartmentDto> result = departmentService.findAll();
 
@@ -223,7 +232,7 @@ public class DepartmentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(departmentRepository).findAll();
-        Mockito.verifyNoInteractions(departmentMapper);
+        Mockito.verifyNoInteractions(teacherRepository, departmentMapper);
     }
 
     @Test
@@ -236,6 +245,7 @@ public class DepartmentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(departmentRepository).deleteById(department.getId());
+        Mockito.verify(cacheInvalidator).departmentDeleted(department.getId());
     }
 
     @Test
@@ -260,9 +270,9 @@ public class DepartmentServiceImplTest {
         Teacher teacher = new Teacher();
         teacher.setId(teacherId);
 
+        Mockito.when(departmentRepository.assignHead(department.getId(), teacherId))
+                .thenReturn(Mono.just(new TeacherAssignmentResult(true, true, 3L)));
         Mockito.when(departmentRepository.findById(department.getId())).thenReturn(Mono.just(department));
-        Mockito.when(teacherRepository.findById(teacherId)).thenReturn(Mono.just(teacher));
-        Mockito.when(departmentRepository.update(department)).thenReturn(Mono.just(department));
         Mockito.when(teacherRepository.findByDepartmentId(department.getId())).thenReturn(Mono.just(teacher));
         Mockito.when(departmentMapper.toDepartmentDto(department)).thenReturn(expectedDepartmentDto);
         Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(TeacherDto.builder().id(teacherId).build());
@@ -279,9 +289,9 @@ public class DepartmentServiceImplTest {
                 })
                 .verifyComplete();
 
+        Mockito.verify(departmentRepository).assignHead(department.getId(), teacherId);
         Mockito.verify(departmentRepository).findById(department.getId());
-        Mockito.verify(teacherRepository).findById(teacherId);
-        Mockito.verify(departmentRepository).update(department);
+        Mockito.verify(cacheInvalidator).evict(EntityCaches.TEACHERS, 3L);
         Mockito.verify(teacherRepository).findByDepartmentId(department.getId());
         Mockito.verify(departmentMapper).toDepartmentDto(department);
         Mockito.verify(teacherMapper).toTeacherDto(teacher);
@@ -291,9 +301,8 @@ public class DepartmentServiceImplTest {
     void setTeacherToDepartmentShouldThrowExceptionWhenDepartmentNotFound() {
         Long teacherId = 2L;
 
-        Mockito.when(departmentRepository.findById(department.getId()))
-                .thenReturn(Mono.error(new EntityNotFoundException("Department with ID " + department.getId() + " not found")));
-        Mockito.when(teacherRepository.findById(teacherId)).thenReturn(Mono.empty());
+        Mockito.when(departmentRepository.assignHead(department.getId(), teacherId))
+                .thenReturn(Mono.just(new TeacherAssignmentResult(false, true, null)));
 
         Mono<DepartmentDto> result = departmentService.setTeacherToDepartment(department.getId(), teacherId);
 
@@ -304,8 +313,9 @@ public class DepartmentServiceImplTest {
                 })
                 .verify();
 
-        Mockito.verify(departmentRepository).findById(department.getId());
-        Mockito.verifyNoInteractions(departmentMapper, teacherMapper);
+        Mockito.verify(departmentRepository).assignHead(department.getId(), teacherId);
+        Mockito.verifyNoMoreInteractions(departmentRepository);
+        Mockito.verifyNoInteractions(departmentMapper, teacherMapper, cacheInvalidator);
     }
 
 }
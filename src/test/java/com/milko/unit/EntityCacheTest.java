@@ -0,0 +1,139 @@
+package com.milko.unit;
+
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCaches;
+import com.milko.service.loader.SingleFlight;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.core.type.Argument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityCacheTest {
+    @Mock
+    private CacheManager<Object> cacheManager;
+
+    @Mock
+    private SyncCache<Object> cache;
+
+    private final Map<Object, Object> entries = new ConcurrentHashMap<>();
+    private SingleFlight singleFlight;
+    private EntityCache entityCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Mockito.lenient().when(cacheManager.getCache(EntityCaches.COURSES)).thenReturn(cache);
+        Mockito.lenient().when(cache.get(any(), any(Argument.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(entries.get(invocation.getArgument(0))));
+        Mockito.lenient().doAnswer(invocation -> entries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).put(any(), any());
+        Mockito.lenient().doAnswer(invocation -> entries.remove(invocation.getArgument(0)))
+                .when(cache).invalidate(any());
+        Mockito.lenient().doAnswer(invocation -> {
+            entries.clear();
+            return null;
+        }).when(cache).invalidateAll();
+        singleFlight = new SingleFlight();
+        entityCache = new EntityCache(cacheManager, singleFlight);
+    }
+
+    @Test
+    void shouldServeCachedEntryWithoutLoading() {
+        entries.put(1L, "course");
+
+        StepVerifier.create(entityCache.get(EntityCaches.COURSES, 1L, String.class, Mono::never))
+                .expectNext("course")
+                .verifyComplete();
+
+        assertEquals(0, singleFlight.getRequests());
+    }
+
+    @Test
+    void shouldFillCacheAfterLoad() {
+        StepVerifier.create(entityCache.get(EntityCaches.COURSES, 1L, String.class, () -> Mono.just("course")))
+                .expectNext("course")
+                .verifyComplete();
+
+        assertEquals("course", entries.get(1L));
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() {
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        entityCache.get(EntityCaches.COURSES, 1L, String.class, row::asMono),
+                        entityCache.get(EntityCaches.COURSES, 1L, String.class, row::asMono)))
+                .then(() -> row.tryEmitValue("course"))
+                .expectNext("course", "course")
+                .verifyComplete();
+
+        assertEquals(2, singleFlight.getRequests());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void shouldNotRefillEntryInvalidatedWhileLoading() {
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(entityCache.get(EntityCaches.COURSES, 1L, String.class, row::asMono))
+                .then(() -> entityCache.invalidate(EntityCaches.COURSES, 1L))
+                .then(() -> row.tryEmitValue("before update"))
+                .expectNext("before update")
+                .verifyComplete();
+
+        assertFalse(entries.containsKey(1L));
+    }
+
+    @Test
+    void shouldNotShareLoadStartedBeforeUpdateWithLaterCallers() {
+        Sinks.One<String> staleRow = Sinks.one();
+        Sinks.One<String> freshRow = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        entityCache.get(EntityCaches.COURSES, 1L, String.class, staleRow::asMono),
+                        Mono.defer(() -> {
+                            entityCache.invalidate(EntityCaches.COURSES, 1L);
+                            return entityCache.get(EntityCaches.COURSES, 1L, String.class, freshRow::asMono);
+                        })))
+                .then(() -> staleRow.tryEmitValue("before update"))
+                .then(() -> freshRow.tryEmitValue("after update"))
+                .expectNext("before update", "after update")
+                .verifyComplete();
+
+        assertEquals(2, singleFlight.getExecutions());
+        assertEquals("after update", entries.get(1L));
+    }
+
+    @Test
+    void shouldNotRefillAnyEntryAfterWholeCacheInvalidation() {
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(entityCache.get(EntityCaches.COURSES, 1L, String.class, row::asMono))
+                .then(() -> entityCache.invalidateAll(EntityCaches.COURSES))
+                .then(() -> row.tryEmitValue("before flush"))
+                .expectNext("before flush")
+                .verifyComplete();
+
+        assertFalse(entries.containsKey(1L));
+    }
+}
@@ -0,0 +1,45 @@
+package com.milko.unit;
+
+import com.milko.repository.IdChunks;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdChunksTest {
+
+    @Test
+    void queryShouldSplitDistinctIdsIntoChunks() {
+        IdChunks idChunks = new IdChunks(2);
+        List<List<Long>> chunks = new ArrayList<>();
+
+        Flux<Long> result = idChunks.query(Arrays.asList(1L, 2L, 2L, null, 3L, 4L, 5L), ids -> {
+            chunks.add(List.of(ids));
+            return Flux.fromArray(ids);
+        });
+
+        StepVerifier.create(result)
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), chunks);
+    }
+
+    @Test
+    void queryShouldSkipDatabaseForEmptyList() {
+        IdChunks idChunks = new IdChunks(IdChunks.DEFAULT_CHUNK_SIZE);
+
+        StepVerifier.create(idChunks.query(List.of(), ids -> Flux.error(new IllegalStateException())))
+                .verifyComplete();
+    }
+
+    @Test
+    void constructorShouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new IdChunks(0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.milko.unit;
+
+import com.milko.cache.EntityCaches;
+import com.milko.cache.InvalidationBatch;
+import com.milko.cache.InvalidationEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvalidationBatchTest {
+
+    @Test
+    void coalesceShouldDeduplicateIdsPerCache() {
+        InvalidationBatch batch = InvalidationBatch.coalesce("node", List.of(
+                new InvalidationEvent(EntityCaches.COURSES, 1L),
+                new InvalidationEvent(EntityCaches.COURSES, 1L),
+                new InvalidationEvent(EntityCaches.COURSES, 2L),
+                new InvalidationEvent(EntityCaches.TEACHERS, 3L)), 100);
+
+        assertEquals(Set.of(1L, 2L), batch.getIds().get(EntityCaches.COURSES));
+        assertEquals(Set.of(3L), batch.getIds().get(EntityCaches.TEACHERS));
+        assertTrue(batch.getFlushed().isEmpty());
+        assertEquals("node|courses:1,2;teachers:3", batch.encode());
+    }
+
+    @Test
+    void coalesceShouldCollapseToFlushWhenCacheIsEvictedEntirely() {
+        InvalidationBatch batch = InvalidationBatch.coalesce("node", List.of(
+                new InvalidationEvent(EntityCaches.STUDENTS, 1L),
+                InvalidationEvent.all(EntityCaches.STUDENTS),
+                new InvalidationEvent(EntityCaches.STUDENTS, 2L)), 100);
+
+        assertFalse(batch.getIds().containsKey(EntityCaches.STUDENTS));
+        assertEquals(Set.of(EntityCaches.STUDENTS), batch.getFlushed());
+        assertEquals("node|students:*", batch.encode());
+    }
+
+    @Test
+    void coalesceShouldCollapseToFlushWhenTooManyIds() {
+        List<InvalidationEvent> events = LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new InvalidationEvent(EntityCaches.COURSES, id))
+                .toList();
+
+        InvalidationBatch batch = InvalidationBatch.coalesce("node", events, 4);
+
+        assertEquals(Set.of(EntityCaches.COURSES), batch.getFlushed());
+        assertTrue(batch.getIds().isEmpty());
+    }
+
+    @Test
+    void decodeShouldRestoreEncodedBatch() {
+        InvalidationBatch batch = InvalidationBatch.decode("other-node|courses:1,2;departments:*");
+
+        assertEquals("other-node", batch.getOrigin());
+        assertEquals(Set.of(1L, 2L), batch.getIds().get(EntityCaches.COURSES));
+        assertEquals(Set.of(EntityCaches.DEPARTMENTS), batch.getFlushed());
+    }
+}
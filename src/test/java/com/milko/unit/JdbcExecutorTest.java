@@ -0,0 +1,99 @@
+package com.milko.unit;
+
+import com.milko.exception.EntityNotFoundException;
+import com.milko.repository.jdbc.JdbcExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JdbcExecutorTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private JdbcExecutor jdbc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        jdbc = new JdbcExecutor(dataSource);
+    }
+
+    @Test
+    void autocommitShouldRunOnVirtualThreadAndCloseConnection() throws SQLException {
+        StepVerifier.create(jdbc.autocommit(c -> Thread.currentThread().isVirtual()))
+                .assertNext(virtual -> assertTrue(virtual))
+                .verifyComplete();
+        verify(connection).close();
+    }
+
+    @Test
+    void autocommitShouldCompleteEmptyForNullResult() {
+        StepVerifier.create(jdbc.autocommit(c -> null))
+                .verifyComplete();
+    }
+
+    @Test
+    void transactionShouldCommitOnSuccess() throws SQLException {
+        StepVerifier.create(jdbc.transaction(c -> 1L))
+                .expectNext(1L)
+                .verifyComplete();
+
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        order.verify(connection).close();
+        verify(connection, never()).rollback();
+    }
+
+    @Test
+    void transactionShouldRollbackOnFailure() throws SQLException {
+        StepVerifier.create(jdbc.transaction(c -> {
+                    throw new EntityNotFoundException("Course with ID 1 not found");
+                }))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).rollback();
+        order.verify(connection).setAutoCommit(true);
+        order.verify(connection).close();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void snapshotShouldStartReadOnlyRepeatableReadBeforeWork(@Mock Statement statement) throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+
+        StepVerifier.create(jdbc.snapshot(c -> 1L))
+                .expectNext(1L)
+                .verifyComplete();
+
+        InOrder order = inOrder(connection, statement);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(statement).execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        order.verify(connection).close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.milko.unit;
+
+import com.milko.repository.routing.Lsn;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LsnTest {
+
+    @Test
+    void shouldParseHighAndLowHalves() {
+        assertEquals(0x16L << 32 | 0xB374D848L, Lsn.parse("16/B374D848"));
+        assertEquals(0L, Lsn.parse("0/0"));
+    }
+
+    @Test
+    void shouldOrderPositionsAcrossSegments() {
+        assertTrue(Lsn.parse("1/0") > Lsn.parse("0/FFFFFFFF"));
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("16B374D848"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("16/"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("-1/0"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("1/zz"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.milko.unit;
+
+import com.milko.repository.sql.CourseSql;
+import com.milko.repository.sql.NamedParameters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamedParametersTest {
+
+    @Test
+    void numberedShouldNumberDistinctNamesByFirstAppearance() {
+        String sql = "UPDATE courses SET title = COALESCE(:title, title) WHERE id = :id AND :title IS NOT NULL";
+
+        assertEquals("UPDATE courses SET title = COALESCE($1, title) WHERE id = $2 AND $1 IS NOT NULL",
+                NamedParameters.numbered(sql));
+    }
+
+    @Test
+    void numberedShouldKeepCastsAndQuotedJson() {
+        String sql = NamedParameters.numbered(CourseSql.FIND_GRAPH_JSON_BY_ID);
+
+        assertTrue(sql.contains("WHERE c.id = $1"));
+        assertTrue(sql.contains("CAST('[]' AS json)"));
+        assertFalse(sql.contains(":"));
+    }
+
+    @Test
+    void numberedShouldIgnorePostgresCastOperator() {
+        assertEquals("SELECT $1::text", NamedParameters.numbered("SELECT :name::text"));
+    }
+
+    @Test
+    void positionalShouldReplaceEachParameterWithPlaceholder() {
+        assertEquals("SELECT * FROM courses WHERE id > ? LIMIT ?",
+                NamedParameters.positional("SELECT * FROM courses WHERE id > :after LIMIT :limit"));
+    }
+
+    @Test
+    void positionalShouldRejectRepeatedParameter() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NamedParameters.positional("SELECT :id WHERE :id IS NOT NULL"));
+    }
+}
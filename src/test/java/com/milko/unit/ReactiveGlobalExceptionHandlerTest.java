@@ -0,0 +1,49 @@
+package com.milko.unit;
+
+import com.milko.exceptionhandling.ErrorResponse;
+import com.milko.exceptionhandling.ReactiveGlobalExceptionHandler;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.vertx.pgclient.PgException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveGlobalExceptionHandlerTest {
+    @Mock
+    private HttpRequest<Object> request;
+
+    private final ReactiveGlobalExceptionHandler handler = new ReactiveGlobalExceptionHandler();
+
+    @Test
+    void shouldMapVertxUniqueViolationToConflict() {
+        when(request.getPath()).thenReturn("/api/v1/courses");
+        PgException exception = new PgException("duplicate key value violates unique constraint", "ERROR", "23505", null);
+
+        StepVerifier.create(handler.handle(request, exception))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CONFLICT, response.getStatus());
+                    ErrorResponse body = (ErrorResponse) response.body();
+                    assertEquals("409", body.getStatus());
+                    assertEquals("PgException", body.getError());
+                    assertEquals("/api/v1/courses", body.getPath());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldKeepOtherVertxErrorsAsServerError() {
+        when(request.getPath()).thenReturn("/api/v1/courses");
+        PgException exception = new PgException("could not serialize access", "ERROR", "40001", null);
+
+        StepVerifier.create(handler.handle(request, exception))
+                .assertNext(response -> assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatus()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,115 @@
+package com.milko.unit;
+
+import com.milko.repository.routing.DatasourceRouting;
+import com.milko.rest.ReadTokenFilter;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadTokenFilterTest {
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private Result result;
+
+    @Mock
+    private Row row;
+
+    @Mock
+    private RowMetadata metadata;
+
+    @Mock
+    private ServerFilterChain chain;
+
+    @Mock
+    private HttpRequest<Object> request;
+
+    @Test
+    void shouldAddPrimaryWalPositionToSuccessfulWrites() {
+        primaryAt("0/16B3748");
+        when(request.getMethod()).thenReturn(HttpMethod.POST);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.ok()));
+
+        StepVerifier.create(Flux.from(new ReadTokenFilter(connectionFactory).doFilter(request, chain)))
+                .assertNext(response -> assertEquals("0/16B3748", response.getHeaders().get(DatasourceRouting.READ_TOKEN_HEADER)))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotQueryPrimaryForReads() {
+        when(request.getMethod()).thenReturn(HttpMethod.GET);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.ok()));
+
+        StepVerifier.create(Flux.from(new ReadTokenFilter(connectionFactory).doFilter(request, chain)))
+                .assertNext(response -> assertNull(response.getHeaders().get(DatasourceRouting.READ_TOKEN_HEADER)))
+                .verifyComplete();
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void shouldNotQueryPrimaryForFailedWrites() {
+        when(request.getMethod()).thenReturn(HttpMethod.PATCH);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.badRequest()));
+
+        StepVerifier.create(Flux.from(new ReadTokenFilter(connectionFactory).doFilter(request, chain)))
+                .assertNext(response -> assertNull(response.getHeaders().get(DatasourceRouting.READ_TOKEN_HEADER)))
+                .verifyComplete();
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void shouldKeepResponseWhenPrimaryPositionIsUnavailable() {
+        doReturn(Mono.error(new R2dbcNonTransientResourceException("connection refused"))).when(connectionFactory).create();
+        when(request.getMethod()).thenReturn(HttpMethod.DELETE);
+        when(chain.proceed(request)).thenReturn(Mono.<MutableHttpResponse<?>>just(HttpResponse.noContent()));
+
+        StepVerifier.create(Flux.from(new ReadTokenFilter(connectionFactory).doFilter(request, chain)))
+                .assertNext(response -> assertNull(response.getHeaders().get(DatasourceRouting.READ_TOKEN_HEADER)))
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void primaryAt(String lsn) {
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        when(connection.createStatement(anyString())).thenReturn(statement);
+        doReturn(Mono.just(result)).when(statement).execute();
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation ->
+                Mono.just(invocation.<BiFunction<Row, RowMetadata, ?>>getArgument(0).apply(row, metadata)));
+        when(row.get(0, String.class)).thenReturn(lsn);
+        doReturn(Mono.empty()).when(connection).close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.milko.unit;
+
+import com.milko.config.ReplicaProperties;
+import com.milko.repository.routing.Lsn;
+import com.milko.repository.routing.ReplicaLsnTracker;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaLsnTrackerTest {
+    @Mock
+    private BeanLocator beanLocator;
+
+    @Mock
+    private ConnectionFactory replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private Result result;
+
+    @Mock
+    private Row row;
+
+    @Mock
+    private RowMetadata metadata;
+
+    private ReplicaLsnTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setEnabled(true);
+        tracker = new ReplicaLsnTracker(properties, beanLocator);
+    }
+
+    @Test
+    void shouldNotServeBeforeFirstPoll() {
+        assertFalse(tracker.canServe(0));
+    }
+
+    @Test
+    void shouldServeTokensUpToReplayedPosition() {
+        replayed("0/3000000");
+
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+
+        assertTrue(tracker.canServe(0));
+        assertTrue(tracker.canServe(Lsn.parse("0/3000000")));
+        assertFalse(tracker.canServe(Lsn.parse("0/3000001")));
+    }
+
+    @Test
+    void shouldTreatReplicaWithoutReplayPositionAsUnavailable() {
+        replayed("0/3000000");
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+
+        when(row.get(0, String.class)).thenReturn(null);
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+
+        assertFalse(tracker.canServe(0));
+        assertFalse(tracker.canServe(Lsn.parse("0/1")));
+    }
+
+    @Test
+    void shouldTreatUnreachableReplicaAsUnavailable() {
+        replayed("0/3000000");
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+
+        doReturn(Mono.error(new R2dbcNonTransientResourceException("connection refused"))).when(replica).create();
+        StepVerifier.create(tracker.refresh()).verifyComplete();
+
+        assertFalse(tracker.canServe(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replayed(String lsn) {
+        when(beanLocator.getBean(eq(ConnectionFactory.class), eq(Qualifiers.byName("replica")))).thenReturn(replica);
+        doReturn(Mono.just(connection)).when(replica).create();
+        when(connection.createStatement(anyString())).thenReturn(statement);
+        doReturn(Mono.just(result)).when(statement).execute();
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation ->
+                Mono.just(invocation.<BiFunction<Row, RowMetadata, ?>>getArgument(0).apply(row, metadata)));
+        when(row.get(0, String.class)).thenReturn(lsn);
+        doReturn(Mono.empty()).when(connection).close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.milko.unit;
+
+import com.milko.config.ReplicaProperties;
+import com.milko.repository.routing.DatasourceRouting;
+import com.milko.repository.routing.Lsn;
+import com.milko.repository.routing.ReplicaReadInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaReadInterceptorTest {
+    @Mock
+    private MethodInvocationContext<Object, Object> context;
+
+    @Mock
+    private HttpRequest<Object> request;
+
+    @Mock
+    private HttpHeaders headers;
+
+    private ReplicaProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReplicaProperties();
+        properties.setEnabled(true);
+    }
+
+    @Test
+    void shouldAllowAnyReplicaPositionWithoutReadToken() {
+        when(context.proceed()).thenReturn(minLsnInContext());
+
+        StepVerifier.create((Mono<?>) new ReplicaReadInterceptor(properties).intercept(context))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRequireReadTokenPositionOnReplica() {
+        withReadToken("0/16B3748");
+        when(context.proceed()).thenReturn(minLsnInContext());
+
+        Object result = ServerRequestContext.with(request, () -> new ReplicaReadInterceptor(properties).intercept(context));
+
+        StepVerifier.create((Mono<?>) result)
+                .expectNext(Lsn.parse("0/16B3748"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldKeepMalformedReadTokenOffReplica() {
+        withReadToken("16B3748");
+        when(context.proceed()).thenReturn(Flux.deferContextual(ctx -> Flux.just(ctx.get(DatasourceRouting.REPLICA_MIN_LSN_KEY))));
+
+        Object result = ServerRequestContext.with(request, () -> new ReplicaReadInterceptor(properties).intercept(context));
+
+        StepVerifier.create((Flux<?>) result)
+                .expectNext(Long.MAX_VALUE)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLeaveResultUntouchedWhenReplicaIsDisabled() {
+        properties.setEnabled(false);
+        Mono<Object> read = minLsnInContext();
+        when(context.proceed()).thenReturn(read);
+
+        assertSame(read, new ReplicaReadInterceptor(properties).intercept(context));
+    }
+
+    private void withReadToken(String token) {
+        when(request.getHeaders()).thenReturn(headers);
+        when(headers.getFirst(DatasourceRouting.READ_TOKEN_HEADER)).thenReturn(Optional.of(token));
+    }
+
+    private static Mono<Object> minLsnInContext() {
+        return Mono.deferContextual(ctx -> Mono.just(ctx.get(DatasourceRouting.REPLICA_MIN_LSN_KEY)));
+    }
+}
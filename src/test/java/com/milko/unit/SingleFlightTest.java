@@ -0,0 +1,100 @@
+package com.milko.unit;
+
+import com.milko.metrics.SingleFlightMetrics;
+import com.milko.repository.routing.DatasourceRouting;
+import com.milko.service.loader.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightTest {
+
+    @Test
+    void shouldCoalesceConcurrentCallsForSameKey() {
+        SingleFlight singleFlight = new SingleFlight();
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute("courses", 1L, row::asMono),
+                        singleFlight.execute("courses", 1L, row::asMono)))
+                .then(() -> row.tryEmitValue("course"))
+                .expectNext("course", "course")
+                .verifyComplete();
+
+        assertEquals(2, singleFlight.getRequests());
+        assertEquals(1, singleFlight.getExecutions());
+    }
+
+    @Test
+    void shouldExportCoalescingRatioAsGauge() {
+        SingleFlight singleFlight = new SingleFlight();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SingleFlightMetrics(singleFlight).bindTo(registry);
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute("courses", 1L, row::asMono),
+                        singleFlight.execute("courses", 1L, row::asMono)))
+                .then(() -> row.tryEmitValue("course"))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(0.5, registry.get("singleflight.coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    void shouldNotShareResultAcrossDatasources() {
+        SingleFlight singleFlight = new SingleFlight();
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute("courses", 1L, row::asMono),
+                        singleFlight.execute("courses", 1L, row::asMono)
+                                .contextWrite(Context.of(DatasourceRouting.DATASOURCE_KEY, "bulk"))))
+                .then(() -> row.tryEmitValue("course"))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(2, singleFlight.getExecutions());
+    }
+
+    @Test
+    void shouldRunSharedLoadWithKeyRoutingOnly() {
+        SingleFlight singleFlight = new SingleFlight();
+        Mono<String> load = Mono.deferContextual(context -> Mono.just(
+                context.hasKey("caller") + ":" + context.getOrDefault(DatasourceRouting.DATASOURCE_KEY, "default")));
+
+        StepVerifier.create(singleFlight.execute("courses", 1L, () -> load)
+                        .contextWrite(Context.of("caller", "first", DatasourceRouting.DATASOURCE_KEY, "bulk")))
+                .expectNext("false:bulk")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotShareResultAcrossReadTokens() {
+        SingleFlight singleFlight = new SingleFlight();
+        Sinks.One<String> row = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        execute(singleFlight, row, 10L),
+                        execute(singleFlight, row, 10L),
+                        execute(singleFlight, row, 20L)))
+                .then(() -> row.tryEmitValue("course"))
+                .expectNext("course", "course", "course")
+                .verifyComplete();
+
+        assertEquals(3, singleFlight.getRequests());
+        assertEquals(2, singleFlight.getExecutions());
+    }
+
+    private static Mono<String> execute(SingleFlight singleFlight, Sinks.One<String> row, long minLsn) {
+        return singleFlight.execute("courses", 1L, row::asMono)
+                .contextWrite(Context.of(DatasourceRouting.REPLICA_MIN_LSN_KEY, minLsn));
+    }
+}
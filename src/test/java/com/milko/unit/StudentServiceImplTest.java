@@ -1,18 +1,25 @@
 package com.milko.unit;
 
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
 import com.milko.dto.CourseDto;
 import com.milko.dto.StudentDto;
+import com.milko.dto.TeacherDto;
+import com.milko.dto.records.EnrollmentResult;
 import com.milko.exception.EntityNotFoundException;
 import com.milko.mapper.CourseMapper;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.StudentMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Course;
-import com.milko.model.CourseStudent;
 import com.milko.model.Student;
+import com.milko.model.Teacher;
 import com.milko.repository.CourseRepository;
 import com.milko.repository.CourseStudentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.StudentRepository;
 import com.milko.repository.TeacherRepository;
+import com.milko.repository.routing.DatasourceRouting;
 import com.milko.service.impl.StudentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,10 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -44,6 +56,15 @@ public class StudentServiceImplTest {
     private CourseMapper courseMapper;
     @Mock
     private TeacherMapper teacherMapper;
+    @Mock
+    private GraphJsonMapper graphJsonMapper;
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+    @Mock
+    private EntityCache entityCache;
+    @Spy
+    private IdChunks idChunks = new IdChunks(IdChunks.DEFAULT_CHUNK_SIZE);
+
     @InjectMocks
     private StudentServiceImpl studentService;
 
@@ -54,6 +75,8 @@ public class StudentServiceImplTest {
 
     @BeforeEach
     public void init(){
+        Mockito.lenient().when(entityCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(3).get());
         studentDto = StudentDto.builder()
                 .id(1L)
                 .name("John Doe")
@@ -117,8 +140,8 @@ public class StudentServiceImplTest {
     @Test
     void findAllShouldReturnListOfStudentsWithoutRelatedEntities() {
         Mockito.when(studentRepository.findAll()).thenReturn(Flux.just(student));
-        Mockito.when(courseRepository.findAllByStudentsIdList(Mockito.anyList())).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findAllByCoursesIdList(Mockito.anyList())).thenReturn(Flux.empty());
+        Mockito.when(courseRepository.findAllByStudentIdArray(Mockito.any())).thenReturn(Flux.empty());
+        Mockito.when(teacherRepository.findAllByCourseIdArray(Mockito.any())).thenReturn(Flux.empty());
         Mockito.when(studentMapper.toStudentDto(student)).thenReturn(studentDto);
 
         Flux<StudentDto> result = studentService.findAll();
@@ -132,8 +155,8 @@ public class StudentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(studentRepository).findAll();
-        Mockito.verify(courseRepository).findAllByStudentsIdList(Mockito.anyList());
-        Mockito.verify(teacherRepository).findAllByCoursesIdList(Mockito.anyList());
+        Mockito.verify(courseRepository).findAllByStudentIdArray(Mockito.any());
+        Mockito.verify(teacherRepository).findAllByCourseIdArray(Mockito.any());
         Mockito.verify(studentMapper).toStudentDto(student);
         Mockito.verifyNoMoreInteractions(studentRepository, courseRepository, teacherRepository, studentMapper);
     }
@@ -141,8 +164,6 @@ public class StudentServiceImplTest {
     @Test
     void findAllShouldReturnEmptyList() {
         Mockito.when(studentRepository.findAll()).thenReturn(Flux.empty());
-        Mockito.when(courseRepository.findAllByStudentsIdList(Mockito.anyList())).thenReturn(Flux.empty());
-        Mockito.when(teacherRepository.findAllByCoursesIdList(Mockito.anyList())).thenReturn(Flux.empty());
 
         Flux<StudentDto> result = studentService.findAll();
 
@@ -151,17 +172,16 @@ public class StudentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(studentRepository).findAll();
-        Mockito.verify(courseRepository).findAllByStudentsIdList(Mockito.anyList());
-        Mockito.verify(teacherRepository).findAllByCoursesIdList(Mockito.anyList());
-        Mockito.verifyNoMoreInteractions(studentRepository, courseRepository, teacherRepository, studentMapper);
+        Mockito.verifyNoMoreInteractions(studentRepository);
+        Mockito.verifyNoInteractions(courseRepository, teacherRepository, studentMapper);
     }
 
 
     @Test
     void findByIdShouldReturnStudentDto() {
-        Mockito.when(studentRepository.findById(student.getId())).thenReturn(Mono.just(student));
-        Mockito.when(courseRepository.findAllByStudentId(student.getId())).thenReturn(Flux.empty());
-        Mockito.when(studentMapper.toStudentDto(student)).thenReturn(studentDto);
+        String graph = "{\"id\":1,\"name\":\"John Doe\",\"courses\":[]}";
+        Mockito.when(studentRepository.findGraphJsonById(student.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, StudentDto.class)).thenReturn(studentDto);
 
         Mono<StudentDto> result = studentService.findById(student.getId());
 
@@ -173,17 +193,16 @@ public class StudentServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(studentRepository).findById(student.getId());
-        Mockito.verify(courseRepository).findAllByStudentId(student.getId());
-        Mockito.verify(studentMapper).toStudentDto(student);
+        Mockito.verify(studentRepository).findGraphJsonById(student.getId());
+        Mockito.verify(graphJsonMapper).read(graph, StudentDto.class);
+        Mockito.verifyNoInteractions(courseRepository);
     }
 
     @Test
     void findByIdShouldThrowExceptionWhenNotFound() {
         Long studentId = 999L;
 
-        Mockito.when(studentRepository.findById(studentId))
-                .thenReturn(Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found")));
+        Mockito.when(studentRepository.findGraphJsonById(studentId)).thenReturn(Mono.empty());
 
         Mono<StudentDto> result = studentService.findById(studentId);
 
@@ -192,15 +211,14 @@ public class StudentServiceImplTest {
                         throwable.getMessage().equals("Student with ID " + studentId + " not found"))
                 .verify();
 
-        Mockito.verify(studentRepository).findById(studentId);
+        Mockito.verify(studentRepository).findGraphJsonById(studentId);
     }
 
     @Test
     void updateShouldUpdateStudentAndReturnDto() {
-        Mockito.when(studentRepository.findById(studentDto.getId())).thenReturn(Mono.just(student));
-        Mockito.when(studentRepository.update(student)).thenReturn(Mono.just(student));
-        Mockito.when(courseRepository.findAllByStudentId(student.getId())).thenReturn(Flux.empty());
-        Mockito.when(studentMapper.toStudentDto(student)).thenReturn(studentDto);
+        String graph = "{\"id\":1,\"name\":\"name\",\"email\":\"email\",\"courses\":[]}";
+        Mockito.when(studentRepository.patchGraphJsonById(studentDto.getId(), studentDto.getName(), studentDto.getEmail())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, StudentDto.class)).thenReturn(studentDto);
 
         Mono<StudentDto> result = studentService.update(studentDto);
 
@@ -212,18 +230,17 @@ public class StudentServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(studentRepository).findById(studentDto.getId());
-        Mockito.verify(studentRepository).update(student);
-        Mockito.verify(courseRepository).findAllByStudentId(student.getId());
-        Mockito.verify(studentMapper).toStudentDto(student);
-        Mockito.verify(studentMapper).updateFromDto(studentDto, student);
+        Mockito.verify(studentRepository).patchGraphJsonById(studentDto.getId(), studentDto.getName(), studentDto.getEmail());
+        Mockito.verify(graphJsonMapper).read(graph, StudentDto.class);
+        Mockito.verify(cacheInvalidator).evictStudent(studentDto);
+        Mockito.verifyNoMoreInteractions(studentRepository);
     }
 
     @Test
     void updateShouldThrowExceptionWhenStudentNotFound() {
         Long studentId = 999L;
         studentDto.setId(studentId);
-        Mockito.when(studentRepository.findById(studentId)).thenReturn(Mono.empty());
+        Mockito.when(studentRepository.patchGraphJsonById(studentId, studentDto.getName(), studentDto.getEmail())).thenReturn(Mono.empty());
 
         Mono<StudentDto> result = studentService.update(studentDto);
 
@@ -232,8 +249,9 @@ public class StudentServiceImplTest {
                         throwable.getMessage().equals("Student with ID " + studentId + " not found"))
                 .verify();
 
-        Mockito.verify(studentRepository).findById(studentId);
-        Mockito.verifyNoMoreInteractions(studentRepository, studentMapper);
+        Mockito.verify(studentRepository).patchGraphJsonById(studentId, studentDto.getName(), studentDto.getEmail());
+        Mockito.verifyNoMoreInteractions(studentRepository);
+        Mockito.verifyNoInteractions(graphJsonMapper, cacheInvalidator);
     }
 
 
@@ -247,6 +265,7 @@ public class StudentServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(studentRepository).deleteById(student.getId());
+        Mockito.verify(cacheInvalidator).studentDeleted(student.getId());
     }
 
     @Test
@@ -268,12 +287,12 @@ public class StudentServiceImplTest {
 
     @Test
     void addCourseToStudentShouldAddCourseAndReturnUpdatedStudent() {
-        Mockito.when(studentRepository.findById(student.getId())).thenReturn(Mono.just(student));
-        Mockito.when(courseRepository.findById(course.getId())).thenReturn(Mono.just(course));
-        Mockito.when(courseStudentRepository.save(Mockito.any(CourseStudent.class))).thenReturn(Mono.just(new CourseStudent()));
-        Mockito.when(courseRepository.findAllByStudentId(student.getId())).thenReturn(Flux.just(course));
-        Mockito.when(studentMapper.toStudentDto(student)).thenReturn(studentDto);
-        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+        String graph = "{\"id\":1,\"name\":\"John Doe\",\"courses\":[{\"id\":2,\"title\":\"Math 101\"}]}";
+        studentDto.setCourses(List.of(courseDto));
+        Mockito.when(courseStudentRepository.enroll(student.getId(), course.getId()))
+                .thenReturn(Mono.just(new EnrollmentResult(true, true, true)));
+        Mockito.when(studentRepository.findGraphJsonById(student.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, StudentDto.class)).thenReturn(studentDto);
 
         Mono<StudentDto> result = studentService.addCourseToStudent(student.getId(), course.getId());
 
@@ -282,25 +301,38 @@ public class StudentServiceImplTest {
                     assertNotNull(dto);
                     assertEquals(studentDto.getId(), dto.getId());
                     assertEquals(studentDto.getName(), dto.getName());
-                    assertEquals(studentDto.getCourses().getFirst().getTitle(), courseDto.getTitle());
+                    assertEquals(courseDto.getTitle(), dto.getCourses().getFirst().getTitle());
                 })
                 .verifyComplete();
 
-        Mockito.verify(studentRepository).findById(student.getId());
-        Mockito.verify(courseRepository).findById(course.getId());
-        Mockito.verify(courseStudentRepository).save(Mockito.any(CourseStudent.class));
-        Mockito.verify(courseRepository).findAllByStudentId(student.getId());
-        Mockito.verify(studentMapper).toStudentDto(student);
-        Mockito.verify(courseMapper).toCourseDto(course);
+        Mockito.verify(courseStudentRepository).enroll(student.getId(), course.getId());
+        Mockito.verify(studentRepository).findGraphJsonById(student.getId());
+        Mockito.verify(cacheInvalidator).evictStudent(studentDto);
+        Mockito.verifyNoMoreInteractions(courseStudentRepository, studentRepository);
+        Mockito.verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void addCourseToStudentShouldBeIdempotentWhenAlreadyEnrolled() {
+        String graph = "{\"id\":1,\"name\":\"John Doe\",\"courses\":[]}";
+        Mockito.when(courseStudentRepository.enroll(student.getId(), course.getId()))
+                .thenReturn(Mono.just(new EnrollmentResult(true, true, false)));
+        Mockito.when(studentRepository.findGraphJsonById(student.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, StudentDto.class)).thenReturn(studentDto);
+
+        Mono<StudentDto> result = studentService.addCourseToStudent(student.getId(), course.getId());
+
+        StepVerifier.create(result)
+                .assertNext(dto -> assertEquals(studentDto.getId(), dto.getId()))
+                .verifyComplete();
     }
 
     @Test
     void addCourseToStudentShouldThrowExceptionWhenStudentNotFound() {
         Long studentId = 999L;
 
-        Mockito.when(studentRepository.findById(studentId))
-                .thenReturn(Mono.error(new EntityNotFoundException("Student with ID " + studentId + " not found")));
-        Mockito.when(courseRepository.findById(course.getId())).thenReturn(Mono.just(course));
+        Mockito.when(courseStudentRepository.enroll(studentId, course.getId()))
+                .thenReturn(Mono.just(new EnrollmentResult(false, true, false)));
 
         Mono<StudentDto> result = studentService.addCourseToStudent(studentId, course.getId());
 
@@ -309,8 +341,79 @@ public class StudentServiceImplTest {
                         throwable.getMessage().equals("Student with ID " + studentId + " not found"))
                 .verify();
 
-        Mockito.verify(studentRepository).findById(studentId);
-        Mockito.verify(courseRepository).findById(course.getId());
-        Mockito.verifyNoInteractions(courseStudentRepository, studentMapper, courseMapper);
+        Mockito.verify(courseStudentRepository).enroll(studentId, course.getId());
+        Mockito.verifyNoInteractions(studentRepository, graphJsonMapper, cacheInvalidator);
+    }
+
+    @Test
+    void addCourseToStudentShouldThrowExceptionWhenCourseNotFound() {
+        Long courseId = 999L;
+
+        Mockito.when(courseStudentRepository.enroll(student.getId(), courseId))
+                .thenReturn(Mono.just(new EnrollmentResult(true, false, false)));
+
+        Mono<StudentDto> result = studentService.addCourseToStudent(student.getId(), courseId);
+
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable -> throwable instanceof EntityNotFoundException &&
+                        throwable.getMessage().equals("Course with ID " + courseId + " not found"))
+                .verify();
+
+        Mockito.verifyNoInteractions(studentRepository, graphJsonMapper, cacheInvalidator);
+    }
+
+    @Test
+    void findAllCoursesByStudentIdShouldLoadTeachersInOneBatch() {
+        Course secondCourse = new Course();
+        secondCourse.setId(4L);
+        secondCourse.setTitle("Physics 101");
+        secondCourse.setTeacherId(3L);
+        Teacher teacher = new Teacher();
+        teacher.setId(3L);
+        teacher.setName("Teacher");
+        CourseDto secondCourseDto = CourseDto.builder().id(4L).title("Physics 101").build();
+        TeacherDto teacherDto = TeacherDto.builder().id(3L).name("Teacher").build();
+
+        Mockito.when(courseRepository.findAllByStudentId(student.getId())).thenReturn(Flux.just(course, secondCourse));
+        Mockito.when(teacherRepository.findAllByIdArray(new Long[]{3L})).thenReturn(Flux.just(teacher));
+        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+        Mockito.when(courseMapper.toCourseDto(secondCourse)).thenReturn(secondCourseDto);
+        Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(teacherDto);
+
+        Flux<CourseDto> result = studentService.findAllCoursesByStudentId(student.getId());
+
+        StepVerifier.create(result)
+                .assertNext(dto -> assertEquals(teacherDto, dto.getTeacher()))
+                .assertNext(dto -> assertEquals(teacherDto, dto.getTeacher()))
+                .verifyComplete();
+
+        Mockito.verify(teacherRepository).findAllByIdArray(new Long[]{3L});
+        Mockito.verify(teacherRepository, Mockito.never()).findByCourseId(Mockito.any());
+    }
+
+    @Test
+    void findAllCoursesByStudentIdShouldQueryTeachersInCallerContext() {
+        Course courseWithoutTeacher = new Course();
+        courseWithoutTeacher.setId(5L);
+        courseWithoutTeacher.setTitle("Art 101");
+        CourseDto courseWithoutTeacherDto = CourseDto.builder().id(5L).title("Art 101").build();
+        Teacher teacher = new Teacher();
+        teacher.setId(3L);
+        TeacherDto teacherDto = TeacherDto.builder().id(3L).build();
+
+        Mockito.when(courseRepository.findAllByStudentId(student.getId())).thenReturn(Flux.just(course, courseWithoutTeacher));
+        Mockito.when(teacherRepository.findAllByIdArray(new Long[]{3L})).thenReturn(Flux.deferContextual(context ->
+                "bulk".equals(context.getOrDefault(DatasourceRouting.DATASOURCE_KEY, null)) ? Flux.just(teacher) : Flux.empty()));
+        Mockito.when(courseMapper.toCourseDto(course)).thenReturn(courseDto);
+        Mockito.when(courseMapper.toCourseDto(courseWithoutTeacher)).thenReturn(courseWithoutTeacherDto);
+        Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(teacherDto);
+
+        Flux<CourseDto> result = studentService.findAllCoursesByStudentId(student.getId())
+                .contextWrite(Context.of(DatasourceRouting.DATASOURCE_KEY, "bulk"));
+
+        StepVerifier.create(result)
+                .assertNext(dto -> assertEquals(teacherDto, dto.getTeacher()))
+                .assertNext(dto -> assertEquals(courseWithoutTeacherDto, dto))
+                .verifyComplete();
     }
 }
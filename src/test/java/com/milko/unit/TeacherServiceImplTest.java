@@ -1,13 +1,15 @@
 package com.milko.unit;
 
+import com.milko.cache.EntityCache;
+import com.milko.cache.EntityCacheInvalidator;
 import com.milko.dto.TeacherDto;
 import com.milko.exception.EntityNotFoundException;
-import com.milko.mapper.CourseMapper;
 import com.milko.mapper.DepartmentMapper;
+import com.milko.mapper.GraphJsonMapper;
 import com.milko.mapper.TeacherMapper;
 import com.milko.model.Teacher;
-import com.milko.repository.CourseRepository;
 import com.milko.repository.DepartmentRepository;
+import com.milko.repository.IdChunks;
 import com.milko.repository.TeacherRepository;
 import com.milko.service.impl.TeacherServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,13 +37,18 @@ public class TeacherServiceImplTest {
     @Mock
     private DepartmentRepository departmentRepository;
     @Mock
-    private CourseRepository courseRepository;
-    @Mock
     private TeacherMapper teacherMapper;
     @Mock
     private DepartmentMapper departmentMapper;
     @Mock
-    private CourseMapper courseMapper;
+    private GraphJsonMapper graphJsonMapper;
+
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+    @Mock
+    private EntityCache entityCache;
+    @Spy
+    private IdChunks idChunks = new IdChunks(IdChunks.DEFAULT_CHUNK_SIZE);
 
     @InjectMocks
     private TeacherServiceImpl teacherService;
@@ -49,6 +59,8 @@ public class TeacherServiceImplTest {
 
     @BeforeEach
     public void init(){
+        Mockito.lenient().when(entityCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(3).get());
         teacherDto = TeacherDto.builder()
                 .id(1L)
                 .name("name")
@@ -99,13 +111,9 @@ public class TeacherServiceImplTest {
 
     @Test
     void updateShouldUpdateTeacherAndReturnDto() {
-        teacher.setName("updated name");
-        teacherDto.setName("updated name");
-        Mockito.when(teacherRepository.findById(teacher.getId())).thenReturn(Mono.just(teacher));
-        Mockito.when(teacherRepository.update(teacher)).thenReturn(Mono.just(teacher));
-        Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(teacherDto);
-        Mockito.when(departmentRepository.findByHeadOfDepartmentId(any())).thenReturn(Mono.empty());
-        Mockito.when(courseRepository.findAllByTeacherId(any())).thenReturn(Flux.empty());
+        String graph = "{\"id\":1,\"name\":\"name\",\"department\":null,\"courses\":[]}";
+        Mockito.when(teacherRepository.patchGraphJsonById(teacherDto.getId(), teacherDto.getName())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, TeacherDto.class)).thenReturn(teacherDto);
 
         Mono<TeacherDto> result = teacherService.update(teacherDto);
 
@@ -117,16 +125,15 @@ public class TeacherServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(teacherRepository).findById(teacher.getId());
-        Mockito.verify(teacherRepository).update(teacher);
-        Mockito.verify(teacherMapper).toTeacherDto(teacher);
-        Mockito.verify(departmentRepository).findByHeadOfDepartmentId(any());
-        Mockito.verify(courseRepository).findAllByTeacherId(any());
+        Mockito.verify(teacherRepository).patchGraphJsonById(teacherDto.getId(), teacherDto.getName());
+        Mockito.verify(graphJsonMapper).read(graph, TeacherDto.class);
+        Mockito.verify(cacheInvalidator).evictTeacher(teacherDto);
+        Mockito.verifyNoMoreInteractions(teacherRepository);
     }
 
     @Test
     void updateShouldThrowExceptionWhenTeacherNotFound() {
-        Mockito.when(teacherRepository.findById(teacher.getId())).thenReturn(Mono.empty());
+        Mockito.when(teacherRepository.patchGraphJsonById(teacher.getId(), teacherDto.getName())).thenReturn(Mono.empty());
 
         Mono<TeacherDto> result = teacherService.update(teacherDto);
 
@@ -135,16 +142,15 @@ public class TeacherServiceImplTest {
                         e.getMessage().equals("Teacher with ID " + teacher.getId() + " not found"))
                 .verify();
 
-        Mockito.verify(teacherRepository).findById(teacher.getId());
+        Mockito.verify(teacherRepository).patchGraphJsonById(teacher.getId(), teacherDto.getName());
         Mockito.verifyNoMoreInteractions(teacherRepository);
     }
 
     @Test
     void findByIdShouldReturnTeacherDto() {
-        Mockito.when(teacherRepository.findById(teacher.getId())).thenReturn(Mono.just(teacher));
-        Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(teacherDto);
-        Mockito.when(departmentRepository.findByHeadOfDepartmentId(any())).thenReturn(Mono.empty());
-        Mockito.when(courseRepository.findAllByTeacherId(any())).thenReturn(Flux.empty());
+        String graph = "{\"id\":1,\"name\":\"name\",\"department\":null,\"courses\":[]}";
+        Mockito.when(teacherRepository.findGraphJsonById(teacher.getId())).thenReturn(Mono.just(graph));
+        Mockito.when(graphJsonMapper.read(graph, TeacherDto.class)).thenReturn(teacherDto);
 
         Mono<TeacherDto> result = teacherService.findById(teacher.getId());
 
@@ -156,15 +162,14 @@ public class TeacherServiceImplTest {
                 })
                 .verifyComplete();
 
-        Mockito.verify(teacherRepository).findById(teacher.getId());
-        Mockito.verify(teacherMapper).toTeacherDto(teacher);
-        Mockito.verify(departmentRepository).findByHeadOfDepartmentId(any());
-        Mockito.verify(courseRepository).findAllByTeacherId(any());
+        Mockito.verify(teacherRepository).findGraphJsonById(teacher.getId());
+        Mockito.verify(graphJsonMapper).read(graph, TeacherDto.class);
+        Mockito.verifyNoInteractions(departmentRepository);
     }
 
     @Test
     void findByIdShouldThrowExceptionWhenTeacherNotFound() {
-        Mockito.when(teacherRepository.findById(teacher.getId())).thenReturn(Mono.empty());
+        Mockito.when(teacherRepository.findGraphJsonById(teacher.getId())).thenReturn(Mono.empty());
 
         Mono<TeacherDto> result = teacherService.findById(teacher.getId());
 
@@ -173,13 +178,13 @@ public class TeacherServiceImplTest {
                         e.getMessage().equals("Teacher with ID " + teacher.getId() + " not found"))
                 .verify();
 
-        Mockito.verify(teacherRepository).findById(teacher.getId());
+        Mockito.verify(teacherRepository).findGraphJsonById(teacher.getId());
     }
 
     @Test
     void findAllShouldReturnListOfTeacherDtos() {
         Mockito.when(teacherRepository.findAll()).thenReturn(Flux.just(teacher));
-        Mockito.when(departmentRepository.findAllByHeadOfDepartmentIds(any())).thenReturn(Flux.empty());
+        Mockito.when(departmentRepository.findAllByHeadOfDepartmentIdArray(any())).thenReturn(Flux.empty());
         Mockito.when(teacherMapper.toTeacherDto(teacher)).thenReturn(teacherDto);
 
         Flux<TeacherDto> result = teacherService.findAll();
@@ -193,14 +198,13 @@ public class TeacherServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(teacherRepository).findAll();
-        Mockito.verify(departmentRepository).findAllByHeadOfDepartmentIds(any());
+        Mockito.verify(departmentRepository).findAllByHeadOfDepartmentIdArray(any());
         Mockito.verify(teacherMapper).toTeacherDto(teacher);
     }
 
     @Test
     void findAllShouldReturnEmptyListWhenNoTeachersFound() {
         Mockito.when(teacherRepository.findAll()).thenReturn(Flux.empty());
-        Mockito.when(departmentRepository.findAllByHeadOfDepartmentIds(Mockito.anyList())).thenReturn(Flux.empty());
 
         Flux<TeacherDto> result = teacherService.findAll();
 
@@ -209,7 +213,7 @@ public class TeacherServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(teacherRepository).findAll();
-        Mockito.verify(departmentRepository).findAllByHeadOfDepartmentIds(Mockito.anyList());
+        Mockito.verifyNoInteractions(departmentRepository);
     }
 
 
@@ -223,6 +227,7 @@ public class TeacherServiceImplTest {
                 .verifyComplete();
 
         Mockito.verify(teacherRepository).deleteById(teacher.getId());
+        Mockito.verify(cacheInvalidator).teacherDeleted(teacher.getId());
     }
 
     @Test